@@ -1,6 +1,7 @@
 package io.github.anjoismysign.holoworld.asset;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 
@@ -10,4 +11,15 @@ public interface DataAssetEntry<T extends DataAsset> {
 
     @NotNull
     T asset();
+
+    /**
+     * If the asset was read from an archive, {@link #file()} is the archive
+     * and this is the path of the asset inside of it.
+     *
+     * @return the path inside the archive, or null if the asset wasn't read from an archive
+     */
+    @Nullable
+    default String archivePath() {
+        return null;
+    }
 }
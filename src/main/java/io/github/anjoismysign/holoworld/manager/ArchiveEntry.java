@@ -0,0 +1,13 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+record ArchiveEntry<T extends DataAsset>(@NotNull File file,
+                                         @NotNull String archivePath,
+                                         @NotNull T asset,
+                                         long contentHash) implements DataAssetEntry<T>, ContentHash.Hashed {
+}
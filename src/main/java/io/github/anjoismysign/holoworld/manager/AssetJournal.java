@@ -0,0 +1,281 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the documents added to a manager, so an add is a single sequential write
+ * instead of creating, truncating and writing a whole file.
+ * Appends are forced to disk in batches: the first append after a sync schedules the next one.
+ * Once the journal holds enough records it's rotated and compacted in the background,
+ * writing the latest document of each identifier into its own {@code <identifier>.yml} file,
+ * each through a temporary file that is atomically moved over it, so a crash never leaves a torn document.
+ * A compaction that failed is retried, backing off, the next time the journal is due for one.
+ * A record is {@code [length][crc32][identifier length][identifier][document]},
+ * and replaying stops at the first torn record left by a crash.
+ */
+final class AssetJournal {
+
+    static final String NAME = ".journal";
+    static final String COMPACTING = ".journal.compacting";
+
+    private static final long SYNC_DELAY_MILLIS = 100;
+    private static final int COMPACTION_THRESHOLD = 1024;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "holoworld-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File directory;
+    private final @Nullable Logger logger;
+    private final Path journal;
+    private final Path compacting;
+
+    private @Nullable FileChannel channel;
+    private int records;
+    private boolean syncScheduled;
+    private boolean compactionRunning;
+    private long retryDelayMillis;
+    private long retryAt;
+
+    AssetJournal(@NotNull File directory,
+                 @Nullable Logger logger) {
+        this.directory = directory;
+        this.logger = logger;
+        this.journal = new File(directory, NAME).toPath();
+        this.compacting = new File(directory, COMPACTING).toPath();
+    }
+
+    /**
+     * Appends a document, which is visible to the next replay right away
+     * and durable once the next batched sync ran.
+     *
+     * @param identifier the identifier of the document
+     * @param document   the YAML document
+     */
+    synchronized void append(@NotNull String identifier,
+                             byte @NotNull [] document) {
+        byte[] name = identifier.getBytes(StandardCharsets.UTF_8);
+        int length = 4 + name.length + document.length;
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(document);
+        ByteBuffer record = ByteBuffer.allocate(4 + 8 + length);
+        record.putInt(length).putLong(crc.getValue()).putInt(name.length).put(name).put(document).flip();
+        try {
+            FileChannel open = open();
+            while (record.hasRemaining())
+                open.write(record);
+        } catch (IOException exception) {
+            throw new RuntimeException("Couldn't append '" + identifier + "' to '" + journal + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+        }
+        records++;
+        if (!syncScheduled) {
+            syncScheduled = true;
+            SCHEDULER.schedule(this::sync, SYNC_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (records >= COMPACTION_THRESHOLD)
+            compact();
+    }
+
+    /**
+     * Reads the documents left by a compaction that didn't finish and then the current journal,
+     * and resumes an unfinished compaction.
+     * A reload must replay before it reads any file: a compaction that finishes afterwards
+     * only writes documents that were replayed, so the files never hold something the replay missed.
+     *
+     * @return the latest document of each identifier, oldest first
+     */
+    synchronized Map<String, byte[]> replay() {
+        Map<String, byte[]> latest = readLatest(compacting).latest();
+        Replayed replayed = readLatest(journal);
+        replayed.latest().forEach((identifier, document) -> {
+            latest.remove(identifier);
+            latest.put(identifier, document);
+        });
+        records = replayed.records();
+        if (Files.exists(compacting) && !compactionRunning) {
+            compactionRunning = true;
+            SCHEDULER.execute(this::fold);
+        }
+        return latest;
+    }
+
+    /**
+     * Rotates the journal, so appends continue on an empty one,
+     * and folds the rotated one into per-file documents in the background.
+     */
+    synchronized void compact() {
+        if (compactionRunning || records == 0)
+            return;
+        if (Files.exists(compacting)) {
+            // a previous fold failed, so it's retried before the journal can be rotated again
+            if (System.currentTimeMillis() < retryAt)
+                return;
+            compactionRunning = true;
+            SCHEDULER.execute(this::fold);
+            return;
+        }
+        try {
+            sync();
+            close();
+            Files.move(journal, compacting, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new RuntimeException("Couldn't rotate '" + journal + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+        }
+        records = 0;
+        compactionRunning = true;
+        SCHEDULER.execute(this::fold);
+    }
+
+    private void fold() {
+        boolean folded = false;
+        try {
+            Map<String, byte[]> latest = readLatest(compacting).latest();
+            for (Map.Entry<String, byte[]> entry : latest.entrySet()) {
+                Path target = new File(directory, entry.getKey() + ".yml").toPath();
+                Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+                try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(entry.getValue());
+                    while (buffer.hasRemaining())
+                        file.write(buffer);
+                    file.force(false);
+                }
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            // not while a reload replays, which reads the rotated journal and the current one as one
+            synchronized (this) {
+                Files.deleteIfExists(compacting);
+            }
+            folded = true;
+            if (logger != null)
+                logger.info("compacted " + latest.size() + " journal records into " + directory.getPath());
+        } catch (IOException | RuntimeException exception) {
+            exception.printStackTrace();
+        } finally {
+            synchronized (this) {
+                compactionRunning = false;
+                if (folded) {
+                    retryDelayMillis = 0;
+                    // the journal kept growing while a failed fold blocked its rotation
+                    if (records >= COMPACTION_THRESHOLD) {
+                        try {
+                            compact();
+                        } catch (RuntimeException exception) {
+                            exception.printStackTrace();
+                        }
+                    }
+                } else {
+                    retryDelayMillis = Math.min(MAX_RETRY_DELAY_MILLIS, Math.max(SYNC_DELAY_MILLIS, retryDelayMillis * 2));
+                    retryAt = System.currentTimeMillis() + retryDelayMillis;
+                }
+            }
+        }
+    }
+
+    private synchronized void sync() {
+        syncScheduled = false;
+        if (channel == null)
+            return;
+        try {
+            channel.force(false);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null)
+            channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return channel;
+    }
+
+    private void close() throws IOException {
+        if (channel == null)
+            return;
+        channel.close();
+        channel = null;
+    }
+
+    /**
+     * Reads every intact record of a journal, truncating a torn one at its end.
+     */
+    private Replayed readLatest(@NotNull Path path) {
+        Map<String, byte[]> latest = new LinkedHashMap<>();
+        int records = 0;
+        if (!Files.isRegularFile(path))
+            return new Replayed(latest, records);
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = file.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(12);
+            while (position + 12 <= size) {
+                header.clear();
+                file.read(header, position);
+                header.flip();
+                int length = header.getInt();
+                long checksum = header.getLong();
+                if (length < 4 || position + 12 + length > size)
+                    break;
+                ByteBuffer body = ByteBuffer.allocate(length);
+                file.read(body, position + 12);
+                body.flip();
+                int nameLength = body.getInt();
+                if (nameLength < 0 || nameLength > length - 4)
+                    break;
+                byte[] name = new byte[nameLength];
+                body.get(name);
+                byte[] document = new byte[body.remaining()];
+                body.get(document);
+                CRC32 crc = new CRC32();
+                crc.update(name);
+                crc.update(document);
+                if (crc.getValue() != checksum)
+                    break;
+                String identifier = new String(name, StandardCharsets.UTF_8);
+                latest.remove(identifier);
+                latest.put(identifier, document);
+                records++;
+                position += 12 + length;
+            }
+            if (position < size) {
+                if (logger != null)
+                    logger.warning("truncating torn journal record at " + position + " of '" + path + "'");
+                if (path.equals(journal))
+                    close();
+                file.truncate(position);
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException("Couldn't replay '" + path + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+        }
+        return new Replayed(latest, records);
+    }
+
+    /**
+     * @param latest  the latest document of each identifier, oldest first
+     * @param records how many records were read, counting every document of an identifier
+     */
+    private record Replayed(@NotNull Map<String, byte[]> latest,
+                            int records) {
+    }
+
+}
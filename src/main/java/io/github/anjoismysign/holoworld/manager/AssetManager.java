@@ -6,50 +6,99 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-public interface AssetManager<T extends DataAsset> extends Manager, Iterable<T> {
+public interface AssetManager<T extends DataAsset> extends PublishingManager<T> {
 
     @NotNull
     Class<T> assetClass();
 
-    @NotNull
-    File directory();
-
     @Nullable
     DataAssetEntry<T> fetchAsset(@NotNull String identifier);
 
-    @NotNull
-    Set<String> getIdentifiers();
-
     boolean add(@NotNull T element);
 
-    default int size() {
-        return getIdentifiers().size();
+    @Override
+    @NotNull
+    default Snapshot<T> snapshot() {
+        return Snapshot.copyOf(getIdentifiers(), this::fetchAsset);
     }
 
-    default boolean isEmpty() {
-        return getIdentifiers().isEmpty();
+    /**
+     * Reads every file of {@link #directory()} one at a time, straight from disk, without keeping them in this manager,
+     * so memory stays flat however large the directory is. Meant for offline jobs such as validations,
+     * migrations and exports. The stream must be closed, such as with try-with-resources.
+     * Documents that are still in the journal of {@link ManagerOptions#journal()} aren't read
+     * until it's compacted into their files.
+     *
+     * @param onError accepts each file that couldn't be read with the reason, without ending the stream
+     * @return the entries of the directory
+     */
+    @NotNull
+    default Stream<DataAssetEntry<T>> streamFromDisk(@NotNull BiConsumer<File, RuntimeException> onError) {
+        return streamFromDisk(0, 1, onError);
     }
 
-    default Map<String, T> map() {
-        return stream()
-                .map(asset -> Map.entry(asset.identifier(), asset))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    /**
+     * Like {@link #streamFromDisk(BiConsumer)}, but reads ahead of the consumer on background threads.
+     * With more than one thread, entries arrive in the order they were read in.
+     *
+     * @param prefetch    how many read entries may wait for the consumer, or 0 to read on the consuming thread
+     * @param parallelism how many threads read ahead
+     * @param onError     accepts each file that couldn't be read with the reason, without ending the stream
+     * @return the entries of the directory
+     */
+    @NotNull
+    default Stream<DataAssetEntry<T>> streamFromDisk(int prefetch,
+                                                     int parallelism,
+                                                     @NotNull BiConsumer<File, RuntimeException> onError) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't stream from disk");
     }
 
-    default Stream<T> stream() {
-        return StreamSupport.stream(spliterator(), false);
-    }
+    /**
+     * Like {@link #streamFromDisk(int, int, BiConsumer)}, but in batches,
+     * which can be handed to other threads to consume in parallel.
+     *
+     * @param batchSize   the most entries of a batch
+     * @param prefetch    how many read entries may wait for the consumer, or 0 to read on the consuming thread
+     * @param parallelism how many threads read ahead
+     * @param onError     accepts each file that couldn't be read with the reason, without ending the stream
+     * @return the batches of entries of the directory
+     */
+    @NotNull
+    default Stream<List<DataAssetEntry<T>>> batchesFromDisk(int batchSize,
+                                                            int prefetch,
+                                                            int parallelism,
+                                                            @NotNull BiConsumer<File, RuntimeException> onError) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("'batchSize' must be at least 1");
+        Stream<DataAssetEntry<T>> entries = streamFromDisk(prefetch, parallelism, onError);
+        Iterator<DataAssetEntry<T>> iterator = entries.iterator();
+        Iterator<List<DataAssetEntry<T>>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
 
-    default Stream<T> parallelStream() {
-        return StreamSupport.stream(spliterator(), true);
+            @Override
+            public List<DataAssetEntry<T>> next() {
+                List<DataAssetEntry<T>> batch = new ArrayList<>(batchSize);
+                do {
+                    batch.add(iterator.next());
+                } while (batch.size() < batchSize && iterator.hasNext());
+                return List.copyOf(batch);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.NONNULL), false)
+                .onClose(entries::close);
     }
 
     @Override
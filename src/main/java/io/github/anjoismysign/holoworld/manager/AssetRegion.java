@@ -0,0 +1,401 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Keeps the assets of a manager outside the heap, in a memory-mapped file of deflated YAML.
+ * Only the identifier index lives on the heap: assets are decoded when an entry is asked for them,
+ * with a small LRU cache in front for hot assets.
+ * The region carries a fingerprint of the directory it was built from,
+ * so a restart over unchanged files maps the region back without parsing any YAML.
+ * Every rewrite goes to a new {@code <file>.<generation>}, since a mapped file can't be replaced on every platform,
+ * and older generations are deleted once no snapshot maps them anymore.
+ *
+ * @param <T> the type of data asset
+ */
+final class AssetRegion<T extends DataAsset> {
+
+    private static final int MAGIC = 0x484F4C4F;
+    private static final int VERSION = 3;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Class<T> assetClass;
+    private final File file;
+    private final boolean failOnNullField;
+    private final int cacheSize;
+    private final ThreadLocal<Yaml> loader;
+    private final Map<Path, Integer> retained = new HashMap<>();
+
+    AssetRegion(@NotNull Class<T> assetClass,
+                @NotNull File file,
+                boolean failOnNullField,
+                int cacheSize) {
+        this.assetClass = assetClass;
+        this.file = file;
+        this.failOnNullField = failOnNullField;
+        this.cacheSize = cacheSize;
+        this.loader = ThreadLocal.withInitial(() -> {
+            Constructor constructor = new Constructor(assetClass, new LoaderOptions());
+            constructor.getPropertyUtils().setSkipMissingProperties(!failOnNullField);
+            return new Yaml(constructor);
+        });
+    }
+
+    /**
+     * Identifies the files a region was built from: their paths, sizes and modification times,
+     * plus the bytecode of the class and the settings they are read with.
+     *
+     * @param files the files of the directory
+     * @return the fingerprint
+     */
+    long fingerprint(@NotNull Collection<File> files) {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + ContentHash.ofClass(assetClass);
+        hash = 31 * hash + (failOnNullField ? 1 : 0);
+        List<File> sorted = files.stream().sorted(Comparator.comparing(File::getPath)).toList();
+        for (File source : sorted) {
+            hash = 31 * hash + source.getPath().hashCode();
+            hash = 31 * hash + source.length();
+            hash = 31 * hash + source.lastModified();
+        }
+        return hash;
+    }
+
+    /**
+     * Maps the region if it was built from files with the given fingerprint.
+     *
+     * @param fingerprint the fingerprint of the current files
+     * @return the index of the region, or null if the region is missing or stale
+     */
+    @Nullable
+    Map<String, DataAssetEntry<T>> open(long fingerprint) {
+        long generation = latestGeneration();
+        if (generation < 0)
+            return null;
+        Path region = generation(generation);
+        try (FileChannel channel = FileChannel.open(region, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                return null;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < 20 || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || mapped.getLong(8) != fingerprint)
+                return null;
+            Mapping mapping = new Mapping(mapped);
+            retain(mapping, region);
+            int count = mapped.getInt(16);
+            Map<String, DataAssetEntry<T>> index = new HashMap<>(count * 4 / 3 + 1);
+            int position = 20;
+            for (int i = 0; i < count; i++) {
+                String identifier = string(mapped, position);
+                position += 4 + mapped.getInt(position);
+                String path = string(mapped, position);
+                position += 4 + mapped.getInt(position);
+                String archivePath = string(mapped, position);
+                position += 4 + mapped.getInt(position);
+                long contentHash = mapped.getLong(position);
+                position += 8;
+                int length = mapped.getInt(position);
+                index.put(identifier, new Entry(mapping, identifier, path, archivePath.isEmpty() ? null : archivePath, contentHash, position + 4, length));
+                position += 4 + length;
+            }
+            return index;
+        } catch (IOException | RuntimeException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given entries into a new generation of the region and maps it.
+     *
+     * @param entries     the entries read from the directory
+     * @param fingerprint the fingerprint of the files they were read from
+     * @return the index of the new region
+     * @throws RuntimeException if the region can't be written, or would be larger than a single mapping can hold
+     */
+    @NotNull
+    Map<String, DataAssetEntry<T>> write(@NotNull Map<String, DataAssetEntry<T>> entries,
+                                         long fingerprint) {
+        Representer representer = new Representer(new DumperOptions());
+        representer.addClassTag(assetClass, Tag.MAP);
+        Yaml yaml = new Yaml(representer);
+        Path target = generation(latestGeneration() + 1);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(fingerprint);
+                output.writeInt(entries.size());
+                long size = 20;
+                for (Map.Entry<String, DataAssetEntry<T>> entry : entries.entrySet()) {
+                    size += writeString(output, entry.getKey());
+                    size += writeString(output, entry.getValue().file().getPath());
+                    size += writeString(output, Objects.requireNonNullElse(entry.getValue().archivePath(), ""));
+                    output.writeLong(entry.getValue() instanceof ContentHash.Hashed hashed ? hashed.contentHash() : 0);
+                    byte[] data = deflate(yaml.dump(entry.getValue().asset()).getBytes(StandardCharsets.UTF_8));
+                    output.writeInt(data.length);
+                    output.write(data);
+                    size += 12 + data.length;
+                    if (size > Integer.MAX_VALUE)
+                        throw new RuntimeException("Couldn't write region at '" + file.getPath() + "': its " + entries.size()
+                                + " assets take more than the 2 GiB a single mapping can hold, so keep them on the heap instead");
+                }
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new RuntimeException("Couldn't write region at '" + file.getPath() + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+        } finally {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
+        Map<String, DataAssetEntry<T>> index = open(fingerprint);
+        if (index == null)
+            throw new IllegalStateException("Couldn't map region at '" + target + "' after writing it");
+        sweep();
+        return index;
+    }
+
+    private Path generation(long generation) {
+        return file.toPath().resolveSibling(file.getName() + "." + generation);
+    }
+
+    /**
+     * @return the generations of the region on disk, keyed by number
+     */
+    private Map<Long, Path> generations() {
+        Map<Long, Path> generations = new HashMap<>();
+        @Nullable File parent = file.getAbsoluteFile().getParentFile();
+        @Nullable File[] files = parent == null ? null : parent.listFiles();
+        if (files == null)
+            return generations;
+        String prefix = file.getName() + ".";
+        for (File candidate : files) {
+            String name = candidate.getName();
+            if (!name.startsWith(prefix))
+                continue;
+            String suffix = name.substring(prefix.length());
+            if (suffix.isEmpty() || !suffix.chars().allMatch(Character::isDigit))
+                continue;
+            try {
+                generations.put(Long.parseLong(suffix), candidate.toPath());
+            } catch (NumberFormatException ignored) {
+                // not a generation of this region
+            }
+        }
+        return generations;
+    }
+
+    private long latestGeneration() {
+        return generations().keySet().stream().mapToLong(Long::longValue).max().orElse(-1);
+    }
+
+    /**
+     * Keeps a generation from being deleted until the mapping, and every entry indexed from it, is unreachable.
+     */
+    private void retain(@NotNull Mapping mapping,
+                        @NotNull Path path) {
+        synchronized (retained) {
+            retained.merge(path, 1, Integer::sum);
+        }
+        CLEANER.register(mapping, () -> {
+            synchronized (retained) {
+                retained.computeIfPresent(path, (key, count) -> count == 1 ? null : count - 1);
+            }
+            sweep();
+        });
+    }
+
+    /**
+     * Deletes every generation but the latest that isn't mapped anymore.
+     * A platform that keeps the file locked until the buffer itself is collected makes the deletion fail,
+     * so it's tried again on the next sweep.
+     */
+    private void sweep() {
+        Map<Long, Path> generations = generations();
+        long latest = generations.keySet().stream().mapToLong(Long::longValue).max().orElse(-1);
+        generations.forEach((generation, path) -> {
+            if (generation == latest)
+                return;
+            synchronized (retained) {
+                if (retained.containsKey(path))
+                    return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // still locked by a buffer that wasn't collected yet
+            }
+        });
+    }
+
+    private static String string(@NotNull ByteBuffer buffer,
+                                 int position) {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return how many bytes were written
+     */
+    private static int writeString(@NotNull DataOutputStream output,
+                                   @NotNull String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        return 4 + bytes.length;
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 2 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream output = new DeflaterOutputStream(bytes, deflater)) {
+            output.write(data);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 4);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(chunk);
+                if (read == 0 && inflater.needsInput())
+                    throw new IllegalStateException("region entry is truncated");
+                bytes.write(chunk, 0, read);
+            }
+            return bytes.toByteArray();
+        } catch (DataFormatException exception) {
+            throw new IllegalStateException("region entry is corrupted", exception);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * One mapping of the region, so entries of a previous snapshot keep decoding
+     * from the region they were indexed from after it was rewritten.
+     */
+    private final class Mapping {
+        private final MappedByteBuffer buffer;
+        private final Map<String, T> cache;
+
+        private Mapping(@NotNull MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+
+        private T decode(@NotNull String identifier,
+                         int offset,
+                         int length) {
+            synchronized (cache) {
+                T cached = cache.get(identifier);
+                if (cached != null)
+                    return cached;
+            }
+            byte[] data = new byte[length];
+            buffer.get(offset, data);
+            T asset = loader.get().load(new String(inflate(data), StandardCharsets.UTF_8));
+            synchronized (cache) {
+                cache.put(identifier, asset);
+            }
+            return asset;
+        }
+    }
+
+    private final class Entry implements DataAssetEntry<T>, ContentHash.Hashed {
+        private final Mapping mapping;
+        private final String identifier;
+        private final String path;
+        private final @Nullable String archivePath;
+        private final long contentHash;
+        private final int offset;
+        private final int length;
+
+        private Entry(@NotNull Mapping mapping,
+                      @NotNull String identifier,
+                      @NotNull String path,
+                      @Nullable String archivePath,
+                      long contentHash,
+                      int offset,
+                      int length) {
+            this.mapping = mapping;
+            this.identifier = identifier;
+            this.path = path;
+            this.archivePath = archivePath;
+            this.contentHash = contentHash;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public @NotNull File file() {
+            return new File(path);
+        }
+
+        @Override
+        public @Nullable String archivePath() {
+            return archivePath;
+        }
+
+        @Override
+        public @NotNull T asset() {
+            return mapping.decode(identifier, offset, length);
+        }
+
+        @Override
+        public long contentHash() {
+            return contentHash;
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Replaces equal strings and equal immutable values across a manager's assets by a single instance.
+ * Strings, boxed primitives, big numbers and records whose components are all such values are treated
+ * as immutable values: an equal one seen before is reused.
+ * Records holding anything else are only shallowly immutable, so they are walked like any other object.
+ * Mutable objects (regular beans, lists, maps and arrays) are walked and have their contents replaced in place,
+ * while final fields are only walked.
+ * Classes of the JDK are never walked, except for the collections listed above.
+ * The pool lives as long as the canonicalizer, which is meant to be dropped once a reload was published.
+ */
+final class Canonicalizer {
+
+    // kept by each class rather than in a map, so classes of plugins that are unloaded can be collected
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(@NotNull Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && !isJdk(current); current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || field.getType().isPrimitive())
+                        continue;
+                    try {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    } catch (RuntimeException ignored) {
+                        // fields of modules that aren't open are skipped
+                    }
+                }
+            }
+            return fields.toArray(Field[]::new);
+        }
+    };
+
+    private final Map<Object, Object> pool = new HashMap<>();
+    private int strings;
+    private int values;
+
+    /**
+     * Canonicalizes an asset and everything reachable from it.
+     *
+     * @param root the asset
+     * @param <T>  the type of the asset
+     * @return the asset itself, or an equal value seen before if the asset is an immutable value
+     */
+    synchronized <T> T canonicalize(@NotNull T root) {
+        return canonical(root, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * @return the amount of duplicated strings that were replaced
+     */
+    synchronized int strings() {
+        return strings;
+    }
+
+    /**
+     * @return the amount of duplicated values, other than strings, that were replaced
+     */
+    synchronized int values() {
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T canonical(@Nullable T value,
+                            @NotNull Set<Object> visited) {
+        if (value == null)
+            return null;
+        if (isValue(value)) {
+            if (value instanceof Record) {
+                // a record can reach itself through a collection, which is only walked once
+                if (visited.add(value))
+                    walk(value, visited);
+                if (!isImmutable(value))
+                    return value;
+            }
+            Object previous = pool.putIfAbsent(value, value);
+            if (previous == null || previous == value)
+                return value;
+            if (value instanceof String)
+                strings++;
+            else
+                values++;
+            return (T) previous;
+        }
+        if (!visited.add(value))
+            return value;
+        walk(value, visited);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void walk(@NotNull Object value,
+                      @NotNull Set<Object> visited) {
+        if (value instanceof List<?> list) {
+            try {
+                ListIterator<Object> iterator = ((List<Object>) list).listIterator();
+                while (iterator.hasNext()) {
+                    Object element = iterator.next();
+                    Object canonical = canonical(element, visited);
+                    if (canonical != element)
+                        iterator.set(canonical);
+                }
+            } catch (UnsupportedOperationException ignored) {
+                // immutable lists keep their elements
+            }
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Class<?> type = map.getClass();
+            if (type != HashMap.class && type != LinkedHashMap.class && type != TreeMap.class)
+                return;
+            Map<Object, Object> mutable = (Map<Object, Object>) map;
+            List<Map.Entry<Object, Object>> entries = new ArrayList<>(mutable.size());
+            mutable.forEach((key, entry) -> entries.add(Map.entry(canonical(key, visited), canonical(entry, visited))));
+            mutable.clear();
+            entries.forEach(entry -> mutable.put(entry.getKey(), entry.getValue()));
+            return;
+        }
+        if (value instanceof Object[] array) {
+            for (int i = 0; i < array.length; i++)
+                array[i] = canonical(array[i], visited);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray() || isJdk(type))
+            return;
+        for (Field field : fields(type)) {
+            try {
+                Object current = field.get(value);
+                Object canonical = canonical(current, visited);
+                if (canonical != current && !Modifier.isFinal(field.getModifiers()))
+                    field.set(value, canonical);
+            } catch (IllegalAccessException ignored) {
+                // inaccessible fields keep their value
+            }
+        }
+    }
+
+    private static boolean isValue(@NotNull Object value) {
+        return value instanceof String
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Double
+                || value instanceof Float
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof BigInteger
+                || value instanceof BigDecimal
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Record;
+    }
+
+    /**
+     * @return true if the value is a string, a number or a record whose components are all immutable too
+     */
+    private static boolean isImmutable(@NotNull Object value) {
+        if (!(value instanceof Record))
+            return isValue(value);
+        Class<?> type = value.getClass();
+        Field[] fields = fields(type);
+        long references = Arrays.stream(type.getRecordComponents())
+                .filter(component -> !component.getType().isPrimitive())
+                .count();
+        // a component that couldn't be made accessible can't be checked
+        if (fields.length != references)
+            return false;
+        for (Field field : fields) {
+            try {
+                Object component = field.get(value);
+                if (component != null && !isImmutable(component))
+                    return false;
+            } catch (IllegalAccessException exception) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJdk(@NotNull Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static Field[] fields(@NotNull Class<?> type) {
+        return FIELDS.get(type);
+    }
+
+}
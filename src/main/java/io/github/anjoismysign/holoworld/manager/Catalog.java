@@ -0,0 +1,1185 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.aesthetic.DirectoryAssistant;
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The reload pipeline shared by every manager of {@link SingletonManagerFactory}.
+ * Each file is read into a source {@code S}, which is then turned into the published {@code T}.
+ * Reloads are built on the side and published as a whole, so readers either see
+ * the previous {@link Snapshot} or the new one, never a partially loaded one.
+ *
+ * @param <S> the type read from each file
+ * @param <T> the type published by the manager
+ */
+final class Catalog<S extends DataAsset, T extends DataAsset> {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Class<?> type;
+    private final File directory;
+    private final @Nullable Logger logger;
+    private final ManagerOptions options;
+    private final boolean skipBrokenFiles;
+    private final SourceReader<S> reader;
+    private final Function<S, T> derive;
+    private final Function<S, Object> representation;
+    private final @Nullable AssetRegion<T> region;
+    private final @Nullable AssetJournal journal;
+    private final long classVersion;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+
+    private final List<Registration<T>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, MaterializedView<T, ?>> views = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final List<Published<S, T>> recent = new ArrayList<>();
+    private volatile CatalogSnapshot<T> snapshot = CatalogSnapshot.empty();
+    private volatile @Nullable Progress progress;
+    private volatile Map<String, S> sources = Map.of();
+    // guarded by lock: reloads are numbered when they start staging, and single entries when they are published
+    private long stages;
+    private long publishedStage;
+    private long publishes;
+    private int staging;
+    private CompletableFuture<Void> background = CompletableFuture.completedFuture(null);
+
+    /**
+     * @param type            the class files are read as, used for messages and YAML tags
+     * @param directory       the directory to read from and write to
+     * @param logger          the logger to use for logging
+     * @param options         the optional behaviour of the manager
+     * @param skipBrokenFiles if true, files that can't be read are reported and skipped instead of failing the reload
+     * @param reader          reads the document of a file
+     * @param derive          turns what was read into what is published
+     * @param representation  the object dumped into a file when adding
+     * @param region          the region to keep assets in, or null to keep them on the heap
+     */
+    Catalog(@NotNull Class<?> type,
+            @NotNull File directory,
+            @Nullable Logger logger,
+            @NotNull ManagerOptions options,
+            boolean skipBrokenFiles,
+            @NotNull SourceReader<S> reader,
+            @NotNull Function<S, T> derive,
+            @NotNull Function<S, Object> representation,
+            @Nullable AssetRegion<T> region) {
+        this.type = type;
+        this.directory = directory;
+        this.logger = logger;
+        this.options = Objects.requireNonNull(options, "'options' cannot be null");
+        this.skipBrokenFiles = skipBrokenFiles;
+        this.reader = reader;
+        this.derive = derive;
+        this.representation = representation;
+        this.region = region;
+        this.journal = options.journal() ? new AssetJournal(directory, logger) : null;
+        this.classVersion = ContentHash.ofClass(type);
+        this.channel = Objects.requireNonNullElseGet(options.invalidationChannel(),
+                () -> type.getName() + ":" + directory.getPath().replace(File.separatorChar, '/'));
+        @Nullable InvalidationBus bus = options.invalidationBus();
+        if (bus != null) {
+            // managers have no lifecycle, so the bus only keeps them weakly and drops the subscription once they're collected
+            WeakReference<Catalog<S, T>> reference = new WeakReference<>(this);
+            AutoCloseable subscription = bus.subscribe(channel, invalidation -> {
+                @Nullable Catalog<S, T> catalog = reference.get();
+                if (catalog != null)
+                    catalog.invalidated(invalidation);
+            });
+            CLEANER.register(this, () -> {
+                try {
+                    subscription.close();
+                } catch (Exception exception) {
+                    exception.printStackTrace();
+                }
+            });
+        }
+    }
+
+    @NotNull
+    Snapshot<T> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return what the published entry of the identifier was read as, if sources are kept
+     */
+    @Nullable
+    S source(@NotNull String identifier) {
+        return sources.get(identifier);
+    }
+
+    @Nullable
+    DataAssetEntry<T> fetch(@NotNull String identifier) {
+        @Nullable DataAssetEntry<T> entry = snapshot.fetch(identifier);
+        @Nullable Progress current = progress;
+        if (entry != null || current == null)
+            return entry;
+        return current.fetch(identifier);
+    }
+
+    /**
+     * Reloads and publishes every file.
+     * In progressive mode this returns right away while a background thread reloads,
+     * and lookups of identifiers that aren't published yet load their own file first.
+     */
+    void reload() {
+        if (!options.progressive()) {
+            stage().run();
+            return;
+        }
+        @Nullable Progress previous = progress;
+        if (previous != null)
+            previous.done.exceptionally(throwable -> null).join();
+        Progress started = new Progress();
+        progress = started;
+        Thread thread = new Thread(() -> {
+            try {
+                stage(false, null, started).run();
+                started.done.complete(null);
+                if (logger != null)
+                    logger.info(type.getCanonicalName() + " finished loading progressively");
+            } catch (Throwable throwable) {
+                started.done.completeExceptionally(throwable);
+                throwable.printStackTrace();
+            } finally {
+                started.listed.complete(null);
+                synchronized (lock) {
+                    if (progress == started)
+                        progress = null;
+                }
+            }
+        }, "holoworld-progressive-" + type.getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reads every file without publishing anything.
+     *
+     * @return the handle that publishes or drops what was read
+     */
+    @NotNull
+    Staged stage() {
+        return stage(false, null, null);
+    }
+
+    /**
+     * Reloads on a low priority background thread, reading within the budget of the options,
+     * and publishes everything at once when done.
+     * Background reloads run one after the other, each starting once the previous one finished.
+     *
+     * @return completes once the reload was published
+     */
+    @NotNull
+    CompletableFuture<Void> reloadInBackground() {
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        CompletableFuture<Void> previous;
+        synchronized (lock) {
+            previous = background;
+            background = published;
+        }
+        previous.whenComplete((ignored, throwable) -> startInBackground(published));
+        return published;
+    }
+
+    private void startInBackground(@NotNull CompletableFuture<Void> published) {
+        ReloadBudget budget = options.reloadBudget();
+        Thread thread = new Thread(() -> {
+            try {
+                long start = System.nanoTime();
+                stage(true, budget.isUnlimited() ? null : new Throttle(budget), null).run();
+                if (logger != null)
+                    logger.info(type.getCanonicalName() + " reloaded in the background in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+                published.complete(null);
+            } catch (Throwable throwable) {
+                published.completeExceptionally(throwable);
+            }
+        }, "holoworld-background-" + type.getSimpleName());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Walks the directory lazily and reads one file at a time, without publishing or keeping anything,
+     * so memory stays flat however many files there are. The stream must be closed.
+     * Files and directories that can't be read are reported and skipped, whatever {@code skipBrokenFiles} says.
+     * The journal isn't replayed, so documents added since its last compaction aren't seen yet.
+     *
+     * @param prefetch    how many read entries may wait for the consumer, or 0 to read on the consuming thread
+     * @param parallelism how many threads read ahead when prefetching
+     * @param onError     accepts each file that couldn't be read with the reason
+     * @return the entries of the directory
+     */
+    @NotNull
+    Stream<DataAssetEntry<T>> traverse(int prefetch,
+                                       int parallelism,
+                                       @NotNull BiConsumer<File, RuntimeException> onError) {
+        if (prefetch < 0)
+            throw new IllegalArgumentException("'prefetch' cannot be negative");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("'parallelism' must be at least 1");
+        Objects.requireNonNull(onError, "'onError' cannot be null");
+        Stream<Path> walk;
+        try {
+            walk = Files.walk(directory.toPath());
+        } catch (IOException exception) {
+            throw new RuntimeException("Found the following issue at '" + directory.getPath() + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+        }
+        Iterator<Path> files = files(walk.iterator(), onError);
+        Function<Path, DataAssetEntry<T>> load = path -> {
+            File file = path.toFile();
+            try {
+                @Nullable Loaded<S, T> loaded = read(Location.of(file), Map.of());
+                if (loaded == null)
+                    return null;
+                return loaded.entry(derive.apply(Objects.requireNonNull(loaded.source(), "source is null")));
+            } catch (RuntimeException exception) {
+                if (!Thread.currentThread().isInterrupted())
+                    onError.accept(file, exception);
+                return null;
+            }
+        };
+        if (prefetch == 0)
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(files, Spliterator.NONNULL), false)
+                    .map(load)
+                    .filter(Objects::nonNull)
+                    .onClose(walk::close);
+        Prefetcher<Path, DataAssetEntry<T>> prefetcher = new Prefetcher<>(files, load, prefetch, parallelism, "holoworld-traversal-" + type.getSimpleName());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefetcher, Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    prefetcher.close();
+                    walk.close();
+                });
+    }
+
+    /**
+     * Keeps the YAML files of a walk, reporting each directory that couldn't be read
+     * instead of ending the walk, which carries on with the entries after it.
+     */
+    private Iterator<Path> files(@NotNull Iterator<Path> walk,
+                                 @NotNull BiConsumer<File, RuntimeException> onError) {
+        return new Iterator<>() {
+            private @Nullable Path next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    Path path;
+                    try {
+                        if (!walk.hasNext())
+                            return false;
+                        path = walk.next();
+                    } catch (UncheckedIOException exception) {
+                        onError.accept(exception.getCause() instanceof FileSystemException failed && failed.getFile() != null
+                                ? new File(failed.getFile())
+                                : directory, exception);
+                        continue;
+                    }
+                    if (path.toString().endsWith(".yml") && Files.isRegularFile(path))
+                        next = path;
+                }
+                return true;
+            }
+
+            @Override
+            public Path next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                Path path = next;
+                next = null;
+                return path;
+            }
+        };
+    }
+
+    /**
+     * Reads every file without publishing anything.
+     * Entries published on their own while staging, by adds or invalidations, are applied again on top
+     * of what was staged, and a reload that started before the last published one publishes nothing,
+     * since what it read is older.
+     *
+     * @param progress the progressive reload this stage is, whose files lookups can claim, or null for any other
+     */
+    @NotNull
+    private Staged stage(boolean background,
+                         @Nullable Throttle throttle,
+                         @Nullable Progress progress) {
+        long ticket;
+        long since;
+        Staging pending = new Staging();
+        synchronized (lock) {
+            ticket = ++stages;
+            since = publishes;
+            staging++;
+        }
+        try {
+            return stage(background, throttle, progress, ticket, since, pending);
+        } catch (RuntimeException | Error throwable) {
+            pending.abort();
+            throw throwable;
+        }
+    }
+
+    @NotNull
+    private Staged stage(boolean background,
+                         @Nullable Throttle throttle,
+                         @Nullable Progress progress,
+                         long ticket,
+                         long since,
+                         @NotNull Staging pending) {
+        ManagerEvents.Reload event = new ManagerEvents.Reload();
+        event.begin();
+        Canonicalizer stagedCanonicalizer = new Canonicalizer();
+        @Nullable Map<String, S> retained = options.freshInstances() ? new HashMap<>() : null;
+        // replayed before the files are read, since a compaction moves journaled documents into them meanwhile
+        Map<String, byte[]> journaled = journal != null ? journal.replay() : Map.of();
+        Map<String, DataAssetEntry<T>> entries = readAll(stagedCanonicalizer, throttle, progress, retained);
+        replay(journaled, entries, stagedCanonicalizer, retained);
+        if (event.shouldCommit()) {
+            event.managerClass = type.getName();
+            event.directory = directory.getPath();
+            event.entries = entries.size();
+            event.background = background;
+            event.commit();
+        }
+        CatalogSnapshot<T> staged = new CatalogSnapshot<>(CompactEntries.of(entries));
+        Map<MaterializedView<T, ?>, Runnable> stagedViews = new HashMap<>();
+        views.values().forEach(view -> stagedViews.put(view, view.stage(staged)));
+        return new StagedReload(pending, () -> {
+            CatalogSnapshot<T> previous;
+            CatalogSnapshot<T> current;
+            synchronized (lock) {
+                if (!pending.finish())
+                    throw new IllegalStateException(type.getCanonicalName() + " already published or aborted this reload");
+                if (ticket < publishedStage) {
+                    forgetRecent();
+                    if (logger != null)
+                        logger.warning(type.getCanonicalName() + " discarded a reload that was overtaken by a newer one");
+                    return;
+                }
+                publishedStage = ticket;
+                previous = snapshot;
+                snapshot = staged;
+                if (retained != null)
+                    sources = Map.copyOf(retained);
+                // views registered after staging are built here
+                views.values().forEach(view -> {
+                    @Nullable Runnable publish = stagedViews.get(view);
+                    (publish != null ? publish : view.stage(staged)).run();
+                });
+                recent.removeIf(published -> published.sequence() <= since);
+                for (Published<S, T> published : recent)
+                    apply(published.identifier(), published.entry(), published.source());
+                current = snapshot;
+                forgetRecent();
+            }
+            notifyListeners(previous, current, null);
+        });
+    }
+
+    /**
+     * Drops the entries kept for reapplying once no reload is staging anymore, while holding the lock.
+     */
+    private void forgetRecent() {
+        if (staging == 0)
+            recent.clear();
+    }
+
+    /**
+     * Counts a reload as staging until it's published or aborted, whichever comes first.
+     * It's also the action that aborts a handle which was collected without either.
+     */
+    private final class Staging implements Runnable {
+        // guarded by lock
+        private boolean finished;
+
+        /**
+         * Stops counting the reload as staging, while holding the lock.
+         *
+         * @return false if it was already published or aborted
+         */
+        private boolean finish() {
+            if (finished)
+                return false;
+            finished = true;
+            staging--;
+            return true;
+        }
+
+        private void abort() {
+            synchronized (lock) {
+                if (finish())
+                    forgetRecent();
+            }
+        }
+
+        @Override
+        public void run() {
+            abort();
+        }
+    }
+
+    /**
+     * The handle of a staged reload, which is aborted if it's collected before being published.
+     */
+    private static final class StagedReload implements Staged {
+        private final Runnable publish;
+        private final Cleaner.Cleanable cleanable;
+
+        private StagedReload(@NotNull Runnable abort,
+                             @NotNull Runnable publish) {
+            this.publish = publish;
+            this.cleanable = CLEANER.register(this, abort);
+        }
+
+        @Override
+        public void run() {
+            try {
+                publish.run();
+            } finally {
+                // unregisters the handle, which aborts nothing once published
+                cleanable.clean();
+            }
+        }
+
+        @Override
+        public void abort() {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Registers a view, building it from the current snapshot.
+     *
+     * @throws IllegalArgumentException if a view with the same name is already registered
+     */
+    @NotNull
+    <V> MaterializedView<T, V> registerView(@NotNull String name,
+                                            @NotNull View<T, V> view) {
+        MaterializedView<T, V> materialized = new MaterializedView<>(name, view);
+        synchronized (lock) {
+            if (views.containsKey(name))
+                throw new IllegalArgumentException("a view named '" + name + "' is already registered");
+            materialized.stage(snapshot).run();
+            views.put(name, materialized);
+        }
+        return materialized;
+    }
+
+    boolean unregisterView(@NotNull String name) {
+        return views.remove(name) != null;
+    }
+
+    @Nullable
+    MaterializedView<T, ?> getView(@NotNull String name) {
+        return views.get(name);
+    }
+
+    @NotNull
+    List<ViewDiagnostics> viewDiagnostics() {
+        return views.values().stream()
+                .map(MaterializedView::diagnostics)
+                .toList();
+    }
+
+    void addListener(@NotNull ChangeListener<T> listener,
+                     @Nullable Executor executor) {
+        Objects.requireNonNull(listener, "'listener' cannot be null");
+        listeners.add(new Registration<>(listener, executor));
+    }
+
+    void removeListener(@NotNull ChangeListener<T> listener) {
+        listeners.removeIf(registration -> registration.listener() == listener);
+    }
+
+    /**
+     * Tells listeners what changed between two snapshots.
+     *
+     * @param previous the replaced snapshot
+     * @param current  the published snapshot
+     * @param only     if not null, the only identifier that may have changed
+     */
+    private void notifyListeners(@NotNull CatalogSnapshot<T> previous,
+                                 @NotNull CatalogSnapshot<T> current,
+                                 @Nullable String only) {
+        if (listeners.isEmpty())
+            return;
+        Set<String> added = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+        Set<String> modified = new HashSet<>();
+        Iterable<String> identifiers = only == null ? current.getIdentifiers() : Set.of(only);
+        for (String identifier : identifiers) {
+            @Nullable DataAssetEntry<T> before = previous.fetch(identifier);
+            @Nullable DataAssetEntry<T> after = current.fetch(identifier);
+            if (after == null)
+                continue;
+            if (before == null)
+                added.add(identifier);
+            else if (!ContentHash.same(before, after))
+                modified.add(identifier);
+        }
+        if (only == null)
+            for (String identifier : previous.getIdentifiers())
+                if (current.fetch(identifier) == null)
+                    removed.add(identifier);
+        CatalogChange<T> change = new CatalogChange<>(previous, current, Set.copyOf(added), Set.copyOf(removed), Set.copyOf(modified));
+        if (change.isEmpty())
+            return;
+        for (Registration<T> registration : listeners) {
+            @Nullable Executor executor = registration.executor();
+            if (executor == null)
+                registration.listener().onChange(change);
+            else
+                executor.execute(() -> registration.listener().onChange(change));
+        }
+    }
+
+    /**
+     * @param progress the progressive reload reading, or null if it isn't one
+     * @param retained if not null, where the source of each entry is kept
+     */
+    private Map<String, DataAssetEntry<T>> readAll(@NotNull Canonicalizer canonicalizer,
+                                                   @Nullable Throttle throttle,
+                                                   @Nullable Progress progress,
+                                                   @Nullable Map<String, S> retained) {
+        if (!directory.exists())
+            directory.mkdirs();
+        List<FileSystem> archives = new ArrayList<>();
+        try {
+            return readAll(canonicalizer, throttle, progress, retained, archives);
+        } finally {
+            for (FileSystem archive : archives) {
+                try {
+                    archive.close();
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private Map<String, DataAssetEntry<T>> readAll(@NotNull Canonicalizer canonicalizer,
+                                                   @Nullable Throttle throttle,
+                                                   @Nullable Progress progress,
+                                                   @Nullable Map<String, S> retained,
+                                                   @NotNull List<FileSystem> archives) {
+        int parallelism = throttle == null ? 0 : throttle.parallelism();
+        Map<String, DataAssetEntry<T>> entries = new HashMap<>();
+        List<File> roots = new ArrayList<>();
+        roots.add(directory);
+        for (File shard : options.shards()) {
+            if (shard.isDirectory() || (shard.isFile() && isArchive(shard)))
+                roots.add(shard);
+            else if (logger != null)
+                logger.warning("shard " + shard.getPath() + " is neither a directory nor an archive");
+        }
+
+        List<List<Location>> listings = inParallel(roots, parallelism, root -> list(root, archives));
+        long fingerprint = 0;
+        if (region != null) {
+            Set<File> files = new HashSet<>();
+            listings.forEach(listing -> listing.forEach(location -> files.add(location.file())));
+            fingerprint = region.fingerprint(files);
+            @Nullable Map<String, DataAssetEntry<T>> mapped = region.open(fingerprint);
+            if (mapped != null) {
+                if (logger != null)
+                    logger.info("mapped region with identifiers: [" + String.join(",", mapped.keySet()) + "]");
+                return mapped;
+            }
+        }
+
+        Map<String, Reusable<T>> reusable = new HashMap<>();
+        if (options.cacheGenerations())
+            snapshot.entries().forEach((identifier, entry) -> {
+                if (entry instanceof ContentHash.Hashed hashed)
+                    reusable.put(Location.key(entry.file(), entry.archivePath()), new Reusable<>(identifier, entry, hashed.contentHash()));
+            });
+
+        if (progress != null)
+            progress.listed(listings, reusable, canonicalizer);
+
+        Map<String, List<String>> duplicates = new HashMap<>();
+        List<Map<String, Loaded<S, T>>> shards = inParallel(listings, parallelism, locations -> parse(locations, reusable, duplicates, throttle, progress));
+
+        // shards are merged lowest precedence first, so each put overrides what it has precedence over
+        if (options.shardPrecedence() == ShardPrecedence.FIRST_WINS)
+            Collections.reverse(shards);
+        Map<String, Loaded<S, T>> sources = new HashMap<>();
+        for (Map<String, Loaded<S, T>> shard : shards) {
+            shard.forEach((identifier, source) -> {
+                @Nullable Loaded<S, T> previous = sources.put(identifier, source);
+                if (previous == null)
+                    return;
+                List<String> list = duplicates.computeIfAbsent(identifier, k -> new ArrayList<>());
+                list.add(previous.location().absolute());
+                list.add(source.location().absolute() + " (wins)");
+            });
+        }
+        duplicates.forEach((key, list) -> {
+            String paths = "{" + String.join(", ", list) + "}";
+            ManagerEvents.Duplicate event = new ManagerEvents.Duplicate();
+            if (event.shouldCommit()) {
+                event.managerClass = type.getName();
+                event.identifier = key;
+                event.paths = paths;
+                event.commit();
+            }
+            if (logger == null)
+                return;
+            logger.severe(type.getCanonicalName() + " has duplicates for'" + key + "' : " + paths);
+        });
+
+        if (logger != null)
+            logger.info("loaded with identifiers: [" + String.join(",", sources.keySet()) + "]");
+
+        int[] reused = new int[1];
+        sources.forEach((identifier, source) -> {
+            try {
+                @Nullable T asset = source.reused();
+                if (asset != null)
+                    reused[0]++;
+                else if (progress != null)
+                    asset = progress.produce(source);
+                else
+                    asset = produce(Objects.requireNonNull(source.source(), "source is null"), source.location().key(), canonicalizer);
+                entries.put(identifier, source.entry(asset));
+                if (retained != null) {
+                    // unchanged files weren't read again, so their source is the one kept by the previous reload
+                    @Nullable S kept = source.source() != null ? source.source() : this.sources.get(identifier);
+                    if (kept != null)
+                        retained.put(identifier, kept);
+                }
+            } catch (RuntimeException exception) {
+                if (!skipBrokenFiles)
+                    throw exception;
+                exception.printStackTrace();
+            }
+        });
+        if (options.cacheGenerations() && logger != null)
+            logger.info("reused " + reused[0] + " unchanged entries");
+        if (options.canonicalize() && logger != null)
+            logger.info("canonicalized " + canonicalizer.strings() + " strings and " + canonicalizer.values() + " values");
+        if (region != null)
+            return region.write(entries, fingerprint);
+        return entries;
+    }
+
+    private static boolean isArchive(@NotNull File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".zip") || name.endsWith(".jar");
+    }
+
+    /**
+     * Lists the documents of a root, which is either a directory or an archive.
+     * Archives are opened as a file system, which is added to {@code archives}
+     * so it's closed once the reload read everything.
+     */
+    private List<Location> list(@NotNull File root,
+                                @NotNull List<FileSystem> archives) {
+        String extension = ".yml";
+
+        List<Location> locations;
+        if (root.isFile()) {
+            try {
+                FileSystem archive = FileSystems.newFileSystem(root.toPath());
+                synchronized (archives) {
+                    archives.add(archive);
+                }
+                Path top = archive.getPath("/");
+                try (Stream<Path> walk = Files.walk(top)) {
+                    locations = walk.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(extension))
+                            .sorted()
+                            .map(path -> new Location(root, top.relativize(path).toString(), path))
+                            .toList();
+                }
+            } catch (IOException exception) {
+                throw new RuntimeException("Found the following issue at '" + root.getPath() + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+            }
+        } else {
+            DirectoryAssistant directoryAssistant = DirectoryAssistant.of(root);
+            locations = directoryAssistant.listRecursively(extension).stream()
+                    .map(Location::of)
+                    .toList();
+        }
+        if (logger != null)
+            logger.info(root.getPath() + " has this many files (" + locations.size() + ")");
+        return locations;
+    }
+
+    /**
+     * Reads the documents of one root.
+     * Entries of an archive are already in memory, so they are read in parallel,
+     * unless the reload is budgeted and its parallelism is already spent on the roots.
+     *
+     * @param locations  the documents of the root
+     * @param reusable   the previous entries of unchanged documents that don't need to be read again
+     * @param duplicates where identifiers found more than once in the root are reported
+     * @param throttle   paces the reads of a budgeted reload, or null to read as fast as possible
+     * @param progress   the progressive reload reading, whose files may be claimed by lookups, or null if it isn't one
+     * @return the entries of the root
+     */
+    private Map<String, Loaded<S, T>> parse(@NotNull List<Location> locations,
+                                            @NotNull Map<String, Reusable<T>> reusable,
+                                            @NotNull Map<String, List<String>> duplicates,
+                                            @Nullable Throttle throttle,
+                                            @Nullable Progress progress) {
+        boolean archive = !locations.isEmpty() && locations.get(0).archivePath() != null;
+        boolean parallel = archive && (throttle == null || throttle.parallelism() == 0);
+        Stream<Location> stream = parallel ? locations.parallelStream() : locations.stream();
+        List<Optional<Loaded<S, T>>> loaded = stream.map(location -> {
+            try {
+                if (logger != null)
+                    logger.info(location.key());
+                return Optional.ofNullable(progress == null ? read(location, reusable, throttle) : progress.claim(location));
+            } catch (RuntimeException exception) {
+                if (!skipBrokenFiles)
+                    throw exception;
+                exception.printStackTrace();
+                return Optional.<Loaded<S, T>>empty();
+            }
+        }).toList();
+
+        Map<String, Loaded<S, T>> sources = new HashMap<>();
+        loaded.forEach(optional -> optional.ifPresent(source -> {
+            String identifier = source.identifier();
+            @Nullable Loaded<S, T> previous = sources.put(identifier, source);
+            if (previous == null)
+                return;
+            synchronized (duplicates) {
+                List<String> list = duplicates.computeIfAbsent(identifier, k -> new ArrayList<>());
+                list.add(previous.location().absolute());
+                list.add(source.location().absolute());
+            }
+        }));
+        return sources;
+    }
+
+    /**
+     * Applies a function to every input, each on its own thread when there's more than one.
+     *
+     * @param parallelism the most threads to use, or 0 for one per input
+     * @return the outputs, in the order of the inputs
+     */
+    private static <I, O> List<O> inParallel(@NotNull List<I> inputs,
+                                             int parallelism,
+                                             @NotNull Function<I, O> function) {
+        int threads = parallelism == 0 ? inputs.size() : Math.min(inputs.size(), parallelism);
+        if (threads <= 1)
+            return new ArrayList<>(inputs.stream().map(function).toList());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "holoworld-shard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<O>> futures = inputs.stream()
+                    .map(input -> CompletableFuture.supplyAsync(() -> function.apply(input), pool))
+                    .toList();
+            List<O> outputs = new ArrayList<>(inputs.size());
+            for (CompletableFuture<O> future : futures) {
+                try {
+                    outputs.add(future.join());
+                } catch (CompletionException exception) {
+                    if (exception.getCause() instanceof RuntimeException cause)
+                        throw cause;
+                    throw exception;
+                }
+            }
+            return outputs;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Nullable
+    private Loaded<S, T> read(@NotNull Location location,
+                              @NotNull Map<String, Reusable<T>> reusable) {
+        return read(location, reusable, null);
+    }
+
+    @Nullable
+    private Loaded<S, T> read(@NotNull Location location,
+                              @NotNull Map<String, Reusable<T>> reusable,
+                              @Nullable Throttle throttle) {
+        Objects.requireNonNull(location, "'location' cannot be null");
+        if (location.archivePath() == null && !location.file().isFile())
+            return null;
+        String path = location.key();
+        try {
+            if (throttle != null)
+                throttle.acquire(location.archivePath() == null ? location.file().length() : Files.size(location.source()));
+            ManagerEvents.Parse event = new ManagerEvents.Parse();
+            event.begin();
+            byte[] document = Files.readAllBytes(location.source());
+            long contentHash = ContentHash.of(classVersion, document);
+            @Nullable Reusable<T> previous = reusable.get(path);
+            Loaded<S, T> loaded;
+            if (previous != null && previous.contentHash() == contentHash) {
+                loaded = new Loaded<>(previous.identifier(), location, contentHash, null, previous.entry().asset());
+            } else {
+                S source = reader.read(path, new ByteArrayInputStream(document));
+                loaded = new Loaded<>(source.identifier(), location, contentHash, source, null);
+            }
+            if (event.shouldCommit()) {
+                event.managerClass = type.getName();
+                event.path = path;
+                event.bytes = document.length;
+                event.reused = loaded.source() == null;
+                event.commit();
+            }
+            return loaded;
+        } catch (IOException exception) {
+            throw new RuntimeException("Found the following issue at '" + path + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+        }
+    }
+
+    /**
+     * Puts the documents replayed from the journal over the ones read from their files.
+     */
+    private void replay(@NotNull Map<String, byte[]> journaled,
+                        @NotNull Map<String, DataAssetEntry<T>> entries,
+                        @NotNull Canonicalizer canonicalizer,
+                        @Nullable Map<String, S> retained) {
+        journaled.forEach((identifier, document) -> {
+            File file = new File(directory, identifier + ".yml");
+            try {
+                S source = reader.read(file.getPath(), new ByteArrayInputStream(document));
+                entries.put(identifier, new FileEntry<>(file, produce(source, file.getPath(), canonicalizer), ContentHash.of(classVersion, document)));
+                if (retained != null)
+                    retained.put(identifier, source);
+            } catch (RuntimeException exception) {
+                if (!skipBrokenFiles)
+                    throw exception;
+                exception.printStackTrace();
+            }
+        });
+    }
+
+    private T produce(@NotNull S source,
+                      @NotNull String path,
+                      @NotNull Canonicalizer canonicalizer) {
+        ManagerEvents.Generate event = new ManagerEvents.Generate();
+        event.begin();
+        T asset = derive.apply(source);
+        // asset managers publish what they read, which isn't worth an event
+        if (asset != source && event.shouldCommit()) {
+            event.managerClass = type.getName();
+            event.path = path;
+            event.identifier = source.identifier();
+            event.commit();
+        }
+        return options.canonicalize() ? canonicalizer.canonicalize(asset) : asset;
+    }
+
+    /**
+     * Writes an element into its own file, or appends it to the journal, and publishes it.
+     * With an invalidation bus, other nodes are told to re-read the file.
+     *
+     * @param element the element to add
+     * @return the entry that was replaced, if any
+     */
+    @Nullable
+    DataAssetEntry<T> add(@NotNull S element) {
+        Objects.requireNonNull(element, "'element' cannot be null");
+        String identifier = element.identifier();
+        File file = new File(directory, identifier + ".yml");
+        String path = file.getPath();
+
+        ManagerEvents.Add event = new ManagerEvents.Add();
+        event.begin();
+        Representer representer = new Representer(new DumperOptions());
+        representer.addClassTag(type, Tag.MAP);
+        Yaml yaml = new Yaml(representer);
+        byte[] document = yaml.dump(representation.apply(element)).getBytes(StandardCharsets.UTF_8);
+        if (journal != null) {
+            journal.append(identifier, document);
+        } else {
+            try {
+                Files.write(file.toPath(), document);
+            } catch (Throwable throwable) {
+                throw new RuntimeException("Found the following issue at '" + path + "'\n" + SingletonManagerFactory.toStackTrace(throwable));
+            }
+        }
+        if (event.shouldCommit()) {
+            event.managerClass = type.getName();
+            event.path = path;
+            event.bytes = document.length;
+            event.journaled = journal != null;
+            event.commit();
+        }
+
+        // the pool of the reload isn't kept once published, so an added asset only shares values within itself
+        DataAssetEntry<T> entry = new FileEntry<>(file, produce(element, path, new Canonicalizer()), ContentHash.of(classVersion, document));
+        @Nullable DataAssetEntry<T> previous = publish(identifier, entry, element);
+        @Nullable InvalidationBus bus = options.invalidationBus();
+        if (bus != null)
+            bus.publish(new Invalidation(channel, identifier, origin));
+        if (previous != null) {
+            String previousPath = previous.file().getPath();
+            System.out.println(previousPath + " and " + previous.asset().identifier() + " was replaced by " + path + " (" + identifier + ")");
+        }
+        return previous;
+    }
+
+    /**
+     * Re-reads the file of an identifier that another node added.
+     */
+    private void invalidated(@NotNull Invalidation invalidation) {
+        if (invalidation.origin().equals(origin))
+            return;
+        String identifier = invalidation.identifier();
+        File file = new File(directory, identifier + ".yml");
+        try {
+            @Nullable Loaded<S, T> loaded = read(Location.of(file), Map.of());
+            if (loaded == null || loaded.source() == null) {
+                if (logger != null)
+                    logger.warning(file.getPath() + " was invalidated but can't be read");
+                return;
+            }
+            if (!loaded.identifier().equals(identifier) && logger != null)
+                logger.warning(file.getPath() + " was invalidated as '" + identifier + "' but holds '" + loaded.identifier() + "'");
+            publish(loaded.identifier(), loaded.entry(produce(loaded.source(), file.getPath(), new Canonicalizer())), loaded.source());
+            if (logger != null)
+                logger.info("re-read " + file.getPath() + " after an add on another node");
+        } catch (RuntimeException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Publishes a single entry on top of the current snapshot, which shares everything else with it.
+     *
+     * @return the entry that was replaced, if any
+     */
+    @Nullable
+    private DataAssetEntry<T> publish(@NotNull String identifier,
+                                      @NotNull DataAssetEntry<T> entry,
+                                      @NotNull S source) {
+        DataAssetEntry<T> previous;
+        CatalogSnapshot<T> before;
+        CatalogSnapshot<T> after;
+        synchronized (lock) {
+            before = snapshot;
+            previous = apply(identifier, entry, source);
+            after = snapshot;
+            // kept until a reload that started staging after it is published
+            publishes++;
+            if (staging > 0)
+                recent.add(new Published<>(publishes, identifier, entry, source));
+        }
+        notifyListeners(before, after, identifier);
+        return previous;
+    }
+
+    /**
+     * Puts a single entry into the current snapshot and updates the views, while holding the lock.
+     *
+     * @return the entry that was replaced, if any
+     */
+    @Nullable
+    private DataAssetEntry<T> apply(@NotNull String identifier,
+                                    @NotNull DataAssetEntry<T> entry,
+                                    @NotNull S source) {
+        CatalogSnapshot<T> before = snapshot;
+        @Nullable DataAssetEntry<T> previous = before.fetch(identifier);
+        CatalogSnapshot<T> after = new CatalogSnapshot<>(LayeredMap.with(before.entries(), identifier, entry));
+        snapshot = after;
+        if (options.freshInstances())
+            sources = LayeredMap.with(sources, identifier, source);
+        if (!views.isEmpty()) {
+            Set<String> changed = Set.of(identifier);
+            CatalogChange<T> change = previous == null
+                    ? new CatalogChange<>(before, after, changed, Set.of(), Set.of())
+                    : new CatalogChange<>(before, after, Set.of(), Set.of(), changed);
+            views.values().forEach(view -> view.update(change));
+        }
+        return previous;
+    }
+
+    /**
+     * A reload running in the background, whose files can be claimed by lookups
+     * so they are read, and generated, only once, by whoever needs them first.
+     */
+    private final class Progress {
+        private final CompletableFuture<Void> listed = new CompletableFuture<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Map<String, CompletableFuture<Loaded<S, T>>> files = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<T>> produced = new ConcurrentHashMap<>();
+        private final Map<String, Location> byName = new HashMap<>();
+        private Map<String, Reusable<T>> reusable = Map.of();
+        private Canonicalizer canonicalizer = new Canonicalizer();
+
+        /**
+         * Lets lookups find files by name once the roots were listed.
+         * Names of roots with precedence are kept over the others.
+         */
+        private void listed(@NotNull List<List<Location>> listings,
+                            @NotNull Map<String, Reusable<T>> reusable,
+                            @NotNull Canonicalizer canonicalizer) {
+            List<List<Location>> ordered = new ArrayList<>(listings);
+            if (options.shardPrecedence() == ShardPrecedence.LAST_WINS)
+                Collections.reverse(ordered);
+            synchronized (this) {
+                for (List<Location> locations : ordered)
+                    for (Location location : locations)
+                        byName.putIfAbsent(location.name(), location);
+                this.reusable = reusable;
+                this.canonicalizer = canonicalizer;
+            }
+            listed.complete(null);
+        }
+
+        @Nullable
+        private Loaded<S, T> claim(@NotNull Location location) {
+            Map<String, Reusable<T>> reusable;
+            synchronized (this) {
+                reusable = this.reusable;
+            }
+            return once(files, location.key(), () -> read(location, reusable));
+        }
+
+        private T produce(@NotNull Loaded<S, T> source) {
+            Canonicalizer canonicalizer;
+            synchronized (this) {
+                canonicalizer = this.canonicalizer;
+            }
+            return once(produced, source.location().key(), () -> Catalog.this.produce(Objects.requireNonNull(source.source(), "source is null"), source.location().key(), canonicalizer));
+        }
+
+        /**
+         * Loads the document named after the identifier ahead of the background reload.
+         * If there's no such document, it holds another identifier,
+         * or its archive was closed in the meantime, waits for the whole reload.
+         */
+        @Nullable
+        private DataAssetEntry<T> fetch(@NotNull String identifier) {
+            // a reload that failed before listing completes done first, and lookups never threw before
+            CompletableFuture.anyOf(listed, done).exceptionally(throwable -> null).join();
+            @Nullable Location location;
+            synchronized (this) {
+                location = byName.get(identifier);
+            }
+            if (location != null && !done.isDone()) {
+                try {
+                    @Nullable Loaded<S, T> source = claim(location);
+                    if (source != null && source.identifier().equals(identifier)) {
+                        T asset = source.reused() != null ? source.reused() : produce(source);
+                        return source.entry(asset);
+                    }
+                } catch (ClosedFileSystemException ignored) {
+                    // the reload already read the archive, so it's about to publish
+                }
+            }
+            done.exceptionally(throwable -> null).join();
+            return snapshot.fetch(identifier);
+        }
+
+        private static <K, V> V once(@NotNull Map<K, CompletableFuture<V>> futures,
+                                     @NotNull K key,
+                                     @NotNull Supplier<V> supplier) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            @Nullable CompletableFuture<V> existing = futures.putIfAbsent(key, created);
+            if (existing == null) {
+                try {
+                    created.complete(supplier.get());
+                } catch (RuntimeException exception) {
+                    created.completeExceptionally(exception);
+                }
+                existing = created;
+            }
+            try {
+                return existing.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * A document that was either read into a source, or found unchanged and reuses its previous asset.
+     */
+    private record Loaded<S, T extends DataAsset>(@NotNull String identifier,
+                                                  @NotNull Location location,
+                                                  long contentHash,
+                                                  @Nullable S source,
+                                                  @Nullable T reused) {
+
+        private DataAssetEntry<T> entry(@NotNull T asset) {
+            @Nullable String archivePath = location.archivePath();
+            if (archivePath == null)
+                return new FileEntry<>(location.file(), asset, contentHash);
+            return new ArchiveEntry<>(location.file(), archivePath, asset, contentHash);
+        }
+    }
+
+    private record Reusable<T extends DataAsset>(@NotNull String identifier,
+                                                 @NotNull DataAssetEntry<T> entry,
+                                                 long contentHash) {
+    }
+
+    /**
+     * An entry published on its own, numbered in the order entries were published.
+     */
+    private record Published<S, T extends DataAsset>(long sequence,
+                                                     @NotNull String identifier,
+                                                     @NotNull DataAssetEntry<T> entry,
+                                                     @NotNull S source) {
+    }
+
+    private record Registration<T extends DataAsset>(@NotNull ChangeListener<T> listener,
+                                                     @Nullable Executor executor) {
+    }
+
+}
@@ -0,0 +1,34 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * What changed in a manager when it published a reload or an add.
+ * Modified entries are detected by the hash of the document they were read from.
+ *
+ * @param previous the snapshot that was replaced
+ * @param current  the snapshot that was published
+ * @param added    identifiers that are only in the current snapshot
+ * @param removed  identifiers that are only in the previous snapshot
+ * @param modified identifiers in both snapshots whose content changed
+ * @param <T>      the type of data asset
+ */
+public record CatalogChange<T extends DataAsset>(@NotNull Snapshot<T> previous,
+                                                 @NotNull Snapshot<T> current,
+                                                 @NotNull Set<String> added,
+                                                 @NotNull Set<String> removed,
+                                                 @NotNull Set<String> modified) {
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + added.size() + " -" + removed.size() + " ~" + modified.size();
+    }
+
+}
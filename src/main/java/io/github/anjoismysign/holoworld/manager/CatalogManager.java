@@ -0,0 +1,113 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * The part of the managers of {@link SingletonManagerFactory} that only hands over to their {@link Catalog},
+ * which is the same whether they manage assets, generators or identities.
+ *
+ * @param <S> the type read from each file
+ * @param <T> the type published by the manager
+ */
+abstract class CatalogManager<S extends DataAsset, T extends DataAsset> implements PublishingManager<T> {
+
+    private final Catalog<S, T> catalog;
+    private final File directory;
+    private final @Nullable Logger logger;
+
+    CatalogManager(@NotNull Catalog<S, T> catalog,
+                   @NotNull File directory,
+                   @Nullable Logger logger) {
+        this.catalog = catalog;
+        this.directory = directory;
+        this.logger = logger;
+    }
+
+    @Override
+    public @Nullable Logger logger() {
+        return logger;
+    }
+
+    @Override
+    public @NotNull File directory() {
+        return directory;
+    }
+
+    @Override
+    public void reload() {
+        catalog.reload();
+    }
+
+    @Override
+    public @NotNull Staged stage() {
+        return catalog.stage();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> reloadInBackground() {
+        return catalog.reloadInBackground();
+    }
+
+    @Override
+    public @NotNull Set<String> getIdentifiers() {
+        return catalog.snapshot().getIdentifiers();
+    }
+
+    @Override
+    public @NotNull Snapshot<T> snapshot() {
+        return catalog.snapshot();
+    }
+
+    @Override
+    public void addListener(@NotNull ChangeListener<T> listener,
+                            @Nullable Executor executor) {
+        catalog.addListener(listener, executor);
+    }
+
+    @Override
+    public void removeListener(@NotNull ChangeListener<T> listener) {
+        catalog.removeListener(listener);
+    }
+
+    @Override
+    public <V> @NotNull MaterializedView<T, V> registerView(@NotNull String name,
+                                                            @NotNull View<T, V> view) {
+        return catalog.registerView(name, view);
+    }
+
+    @Override
+    public boolean unregisterView(@NotNull String name) {
+        return catalog.unregisterView(name);
+    }
+
+    @Override
+    public @Nullable MaterializedView<T, ?> getView(@NotNull String name) {
+        return catalog.getView(name);
+    }
+
+    @Override
+    public @NotNull List<ViewDiagnostics> viewDiagnostics() {
+        return catalog.viewDiagnostics();
+    }
+
+    /**
+     * Writes an element into its file, or the journal, and publishes it.
+     *
+     * @param element the element to add
+     * @return true, since the element is always published
+     */
+    public boolean add(@NotNull S element) {
+        catalog.add(element);
+        return true;
+    }
+
+}
@@ -0,0 +1,34 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+
+record CatalogSnapshot<T extends DataAsset>(@NotNull Map<String, DataAssetEntry<T>> entries) implements Snapshot<T> {
+
+    private static final CatalogSnapshot<?> EMPTY = new CatalogSnapshot<>(Map.of());
+
+    @SuppressWarnings("unchecked")
+    static <T extends DataAsset> CatalogSnapshot<T> empty() {
+        return (CatalogSnapshot<T>) EMPTY;
+    }
+
+    @Override
+    public @Nullable DataAssetEntry<T> fetch(@NotNull String identifier) {
+        return entries.get(identifier);
+    }
+
+    @Override
+    public @NotNull Set<String> getIdentifiers() {
+        return entries.keySet();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gets notified after a manager published a reload or an add that changed something.
+ *
+ * @param <T> the type of data asset
+ */
+@FunctionalInterface
+public interface ChangeListener<T extends DataAsset> {
+
+    void onChange(@NotNull CatalogChange<T> change);
+
+}
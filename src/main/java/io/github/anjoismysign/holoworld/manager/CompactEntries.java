@@ -0,0 +1,250 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map of entries read from files, packed into parallel arrays
+ * behind a single open-addressing table keyed by identifier.
+ * Directories are shared between entries, file names that are just {@code <identifier>.yml} aren't stored at all,
+ * and neither entries nor their {@link File} exist until they are asked for.
+ * A reload packs one as the base of its snapshot, and adds are layered on top of it by {@link LayeredMap}
+ * instead of repacking it, until the next reload packs a new one.
+ *
+ * @param <T> the type of data asset
+ */
+final class CompactEntries<T extends DataAsset> extends AbstractMap<String, DataAssetEntry<T>> {
+
+    private static final String EXTENSION = ".yml";
+
+    private final String[] keys;
+    private final DataAsset[] assets;
+    private final long[] hashes;
+    private final int[] folders;
+    private final @Nullable File[] directories;
+    private final String[] names;
+    private final @Nullable BitSet archived;
+    private final int[] table;
+    private @Nullable Set<Entry<String, DataAssetEntry<T>>> entrySet;
+
+    /**
+     * Packs the given entries if all of them were read from files or archives,
+     * otherwise copies them into an immutable map.
+     *
+     * @param entries the entries keyed by identifier
+     * @param <T>     the type of data asset
+     * @return an immutable map of the entries
+     */
+    static <T extends DataAsset> Map<String, DataAssetEntry<T>> of(@NotNull Map<String, DataAssetEntry<T>> entries) {
+        for (DataAssetEntry<T> entry : entries.values())
+            if (!(entry instanceof FileEntry<T> || entry instanceof ArchiveEntry<T>))
+                return Map.copyOf(entries);
+        return new CompactEntries<>(entries);
+    }
+
+    private CompactEntries(@NotNull Map<String, DataAssetEntry<T>> entries) {
+        int size = entries.size();
+        keys = new String[size];
+        assets = new DataAsset[size];
+        hashes = new long[size];
+        folders = new int[size];
+        names = new String[size];
+        BitSet archived = null;
+        Map<File, Integer> interned = new HashMap<>();
+        List<File> directories = new ArrayList<>();
+        int capacity = Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1;
+        table = new int[capacity];
+
+        int index = 0;
+        for (Map.Entry<String, DataAssetEntry<T>> pair : entries.entrySet()) {
+            String key = pair.getKey();
+            DataAssetEntry<T> entry = pair.getValue();
+            File directory;
+            String name;
+            boolean inArchive;
+            if (entry.archivePath() != null) {
+                directory = entry.file();
+                name = entry.archivePath();
+                inArchive = true;
+            } else {
+                File file = entry.file();
+                directory = file.getParentFile();
+                name = file.getName();
+                inArchive = false;
+            }
+            Integer folder = interned.get(directory);
+            if (folder == null) {
+                folder = directories.size();
+                interned.put(directory, folder);
+                directories.add(directory);
+            }
+            keys[index] = key;
+            assets[index] = entry.asset();
+            hashes[index] = ((ContentHash.Hashed) entry).contentHash();
+            folders[index] = folder;
+            names[index] = !inArchive && isDefaultName(key, name) ? null : name;
+            if (inArchive) {
+                if (archived == null)
+                    archived = new BitSet(size);
+                archived.set(index);
+            }
+            int slot = key.hashCode() & (capacity - 1);
+            while (table[slot] != 0) {
+                if (keys[table[slot] - 1].equals(key))
+                    throw new IllegalArgumentException("duplicate identifier '" + key + "'");
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = index + 1;
+            index++;
+        }
+        this.archived = archived;
+        this.directories = directories.toArray(File[]::new);
+    }
+
+    private static boolean isDefaultName(@NotNull String key,
+                                         @NotNull String name) {
+        return name.length() == key.length() + EXTENSION.length()
+                && name.startsWith(key)
+                && name.endsWith(EXTENSION);
+    }
+
+    private int indexOf(@Nullable Object key) {
+        if (!(key instanceof String identifier))
+            return -1;
+        int mask = table.length - 1;
+        for (int slot = identifier.hashCode() & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (keys[index].equals(identifier))
+                return index;
+        }
+        return -1;
+    }
+
+    private String name(int index) {
+        String name = names[index];
+        return name == null ? keys[index] + EXTENSION : name;
+    }
+
+    private boolean isArchived(int index) {
+        return archived != null && archived.get(index);
+    }
+
+    @Override
+    public @Nullable DataAssetEntry<T> get(@Nullable Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : new Slot(index);
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, DataAssetEntry<T>>> entrySet() {
+        @Nullable Set<Entry<String, DataAssetEntry<T>>> current = entrySet;
+        if (current != null)
+            return current;
+        current = new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, DataAssetEntry<T>>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, DataAssetEntry<T>> next() {
+                        if (index >= keys.length)
+                            throw new NoSuchElementException();
+                        int current = index++;
+                        return new SimpleImmutableEntry<>(keys[current], new Slot(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+        entrySet = current;
+        return current;
+    }
+
+    /**
+     * The entry at one index of the table, which only builds its {@link File} when asked for.
+     */
+    final class Slot implements DataAssetEntry<T>, ContentHash.Hashed {
+        private final int index;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+
+        private CompactEntries<T> owner() {
+            return CompactEntries.this;
+        }
+
+        @Override
+        public @NotNull File file() {
+            File directory = directories[folders[index]];
+            return isArchived(index) ? directory : new File(directory, name(index));
+        }
+
+        @Override
+        public @Nullable String archivePath() {
+            return isArchived(index) ? names[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public @NotNull T asset() {
+            return (T) assets[index];
+        }
+
+        @Override
+        public long contentHash() {
+            return hashes[index];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CompactEntries<?>.Slot slot && slot.owner() == owner() && slot.index == index;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(owner()) * 31 + index;
+        }
+
+        @Override
+        public String toString() {
+            String archivePath = archivePath();
+            return "Entry[" + keys[index] + " at " + (archivePath == null ? file().getPath() : Location.key(file(), archivePath)) + "]";
+        }
+    }
+
+}
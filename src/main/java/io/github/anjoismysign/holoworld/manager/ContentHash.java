@@ -0,0 +1,86 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * 64-bit FNV-1a hashes of the documents entries were read from,
+ * used to tell which entries changed between two snapshots.
+ */
+final class ContentHash {
+
+    private static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+    }
+
+    static long of(byte @NotNull [] bytes) {
+        return of(OFFSET, bytes);
+    }
+
+    /**
+     * Hashes bytes on top of a previous hash, such as the version of the class they are read as.
+     *
+     * @param seed  the previous hash
+     * @param bytes the bytes to hash
+     * @return the hash
+     */
+    static long of(long seed,
+                   byte @NotNull [] bytes) {
+        long hash = seed;
+        for (byte value : bytes) {
+            hash ^= value & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the bytecode of a class, so documents read as a class that changed don't match
+     * their previous hash. Falls back to the class name if the bytecode can't be found.
+     *
+     * @param type the class
+     * @return the hash
+     */
+    static long ofClass(@NotNull Class<?> type) {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream input = type.getResourceAsStream(resource)) {
+            if (input != null)
+                return of(input.readAllBytes());
+        } catch (IOException ignored) {
+            // falls back to the name
+        }
+        return of(type.getName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tells whether two entries hold the same content, by their hashes when both were read
+     * from a document, or by the equality of their assets otherwise.
+     *
+     * @param previous the previous entry
+     * @param current  the current entry
+     * @return true if the content is the same
+     */
+    static boolean same(@NotNull DataAssetEntry<?> previous,
+                        @NotNull DataAssetEntry<?> current) {
+        if (previous == current)
+            return true;
+        if (previous instanceof Hashed hashedPrevious && current instanceof Hashed hashedCurrent)
+            return hashedPrevious.contentHash() == hashedCurrent.contentHash();
+        return Objects.equals(previous.asset(), current.asset());
+    }
+
+    /**
+     * An entry that knows the hash of the document it was read from.
+     */
+    interface Hashed {
+        long contentHash();
+    }
+
+}
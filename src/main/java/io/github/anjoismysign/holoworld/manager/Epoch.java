@@ -0,0 +1,54 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The snapshots of an {@link EpochGroup}'s managers as published together by one reload.
+ * An epoch is immutable: pin it once per request and every lookup through it stays consistent
+ * across managers, no matter how many reloads are published meanwhile.
+ */
+public final class Epoch {
+
+    private final long number;
+    private final Map<Manager, Snapshot<?>> snapshots;
+
+    Epoch(long number,
+          @NotNull Map<Manager, Snapshot<?>> snapshots) {
+        this.number = number;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * @return the number of this epoch, which grows by one on each group reload
+     */
+    public long number() {
+        return number;
+    }
+
+    @NotNull
+    public <T extends DataAsset> Snapshot<T> of(@NotNull AssetManager<T> manager) {
+        return get(manager);
+    }
+
+    @NotNull
+    public <T extends DataAsset> Snapshot<T> of(@NotNull GeneratorManager<T> manager) {
+        return get(manager);
+    }
+
+    @NotNull
+    public <T extends DataAsset> Snapshot<T> of(@NotNull IdentityManager<T> manager) {
+        return get(manager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends DataAsset> Snapshot<T> get(@NotNull Manager manager) {
+        Snapshot<?> snapshot = snapshots.get(manager);
+        Objects.requireNonNull(snapshot, ReloadCoordinator.describe(manager) + " is not part of this epoch");
+        return (Snapshot<T>) snapshot;
+    }
+
+}
@@ -0,0 +1,83 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reloads related managers together and publishes all their new states under one {@link Epoch}.
+ * Readers {@link #pin()} an epoch, which is a single volatile read, and look up every manager
+ * through it, so cross-references between catalogs never mix an old state with a new one.
+ * Lookups through the manager themselves keep working, but aren't coordinated with the group.
+ */
+public final class EpochGroup {
+
+    private final List<Manager> managers;
+    private volatile Epoch current;
+
+    private EpochGroup(@NotNull List<Manager> managers) {
+        this.managers = managers;
+        this.current = capture(0);
+    }
+
+    /**
+     * Creates a group out of managers that publish snapshots, such as asset, generator and identity managers.
+     * The first epoch holds whatever the managers have currently published.
+     *
+     * @param managers the managers of the group
+     * @return a new group
+     */
+    public static EpochGroup of(@NotNull Manager... managers) {
+        List<Manager> list = new ArrayList<>();
+        for (Manager manager : managers) {
+            Objects.requireNonNull(manager, "'manager' cannot be null");
+            if (!(manager instanceof PublishingManager<?>))
+                throw new IllegalArgumentException(ReloadCoordinator.describe(manager) + " doesn't publish snapshots");
+            list.add(manager);
+        }
+        return new EpochGroup(List.copyOf(list));
+    }
+
+    /**
+     * @return the latest epoch published by this group
+     */
+    @NotNull
+    public Epoch pin() {
+        return current;
+    }
+
+    /**
+     * Stages every manager and, once all of them were read, publishes them together.
+     * If any manager fails to stage, nothing is published and the ones already staged are aborted.
+     *
+     * @return the new epoch
+     */
+    @NotNull
+    public synchronized Epoch reload() {
+        List<Staged> publications = new ArrayList<>();
+        try {
+            for (Manager manager : managers)
+                publications.add(manager.stage());
+            publications.forEach(Staged::run);
+        } finally {
+            // aborting does nothing to what was already published
+            publications.forEach(Staged::abort);
+        }
+        Epoch epoch = capture(current.number() + 1);
+        current = epoch;
+        return epoch;
+    }
+
+    private Epoch capture(long number) {
+        Map<Manager, Snapshot<?>> snapshots = new IdentityHashMap<>();
+        for (Manager manager : managers)
+            snapshots.put(manager, ((PublishingManager<?>) manager).snapshot());
+        return new Epoch(number, Collections.unmodifiableMap(snapshots));
+    }
+
+}
@@ -0,0 +1,12 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+record FileEntry<T extends DataAsset>(@NotNull File file,
+                                      @NotNull T asset,
+                                      long contentHash) implements DataAssetEntry<T>, ContentHash.Hashed {
+}
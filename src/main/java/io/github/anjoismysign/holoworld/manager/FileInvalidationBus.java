@@ -0,0 +1,241 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Every node appends to {@code <node>-<segment>.bus} in the shared directory, so each file has a single writer,
+ * and reads what the other nodes appended since the previous poll.
+ * A line is the URL-encoded channel, identifier and origin, separated by spaces.
+ * Files that already existed when the bus started are read from their end, so history isn't replayed.
+ * A node starts a new segment once its file is large enough, deleting the one before the previous,
+ * and touches its file on every poll, so files of nodes that stopped touching theirs,
+ * such as after a crash, are deleted by the others once they expire.
+ */
+final class FileInvalidationBus implements InvalidationBus {
+
+    private static final String EXTENSION = ".bus";
+    private static final long SEGMENT_BYTES = 1 << 20;
+    private static final Duration MINIMUM_EXPIRY = Duration.ofMinutes(10);
+
+    private final File directory;
+    private final String node = UUID.randomUUID().toString();
+    private final long expiryMillis;
+    private final Map<String, List<Consumer<Invalidation>>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Long> offsets = new HashMap<>();
+    private final ScheduledExecutorService poller;
+    private int segment;
+    private File own;
+    private @Nullable File previous;
+    private @Nullable FileChannel channel;
+
+    FileInvalidationBus(@NotNull File directory,
+                        @NotNull Duration pollInterval) {
+        this.directory = Objects.requireNonNull(directory, "'directory' cannot be null");
+        if (!directory.exists())
+            directory.mkdirs();
+        this.own = segment(0);
+        this.expiryMillis = Math.max(MINIMUM_EXPIRY.toMillis(), pollInterval.toMillis() * 100);
+        for (File file : peers())
+            offsets.put(file.getName(), file.length());
+        synchronized (this) {
+            try {
+                open();
+            } catch (IOException exception) {
+                throw new RuntimeException("Couldn't create '" + own.getPath() + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+            }
+        }
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "holoworld-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, pollInterval.toMillis());
+        poller.scheduleWithFixedDelay(this::poll, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(@NotNull Invalidation invalidation) {
+        Objects.requireNonNull(invalidation, "'invalidation' cannot be null");
+        String line = encode(invalidation.channel()) + " " + encode(invalidation.identifier()) + " " + encode(invalidation.origin()) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        synchronized (this) {
+            try {
+                FileChannel open = open();
+                while (buffer.hasRemaining())
+                    open.write(buffer);
+                if (open.size() >= SEGMENT_BYTES)
+                    rotate();
+            } catch (IOException exception) {
+                throw new RuntimeException("Couldn't publish to '" + own.getPath() + "'\n" + SingletonManagerFactory.toStackTrace(exception));
+            }
+        }
+        deliver(invalidation);
+    }
+
+    @Override
+    public @NotNull AutoCloseable subscribe(@NotNull String channel,
+                                            @NotNull Consumer<Invalidation> consumer) {
+        Objects.requireNonNull(consumer, "'consumer' cannot be null");
+        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(consumer);
+        return () -> subscribers.getOrDefault(channel, List.of()).remove(consumer);
+    }
+
+    /**
+     * Stops polling and removes the files of this node.
+     */
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        synchronized (this) {
+            try {
+                if (channel != null)
+                    channel.close();
+                channel = null;
+                Files.deleteIfExists(own.toPath());
+                if (previous != null)
+                    Files.deleteIfExists(previous.toPath());
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
+        subscribers.clear();
+    }
+
+    private File segment(int segment) {
+        return new File(directory, node + "-" + segment + EXTENSION);
+    }
+
+    /**
+     * Opens the file of this node, creating it again if another node expired it while this one was stalled.
+     */
+    private FileChannel open() throws IOException {
+        if (channel != null && !own.exists()) {
+            channel.close();
+            channel = null;
+        }
+        if (channel == null)
+            channel = FileChannel.open(own.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return channel;
+    }
+
+    /**
+     * Continues on a new segment. The previous one is kept until the next rotation,
+     * so the other nodes have time to read its end.
+     */
+    private void rotate() throws IOException {
+        if (channel != null)
+            channel.close();
+        channel = null;
+        if (previous != null)
+            Files.deleteIfExists(previous.toPath());
+        previous = own;
+        own = segment(++segment);
+        open();
+    }
+
+    private List<File> peers() {
+        String prefix = node + "-";
+        File[] files = directory.listFiles((parent, name) -> name.endsWith(EXTENSION) && !name.startsWith(prefix));
+        return files == null ? List.of() : List.of(files);
+    }
+
+    private void poll() {
+        try {
+            synchronized (this) {
+                open();
+                own.setLastModified(System.currentTimeMillis());
+            }
+            long now = System.currentTimeMillis();
+            List<File> peers = peers();
+            offsets.keySet().retainAll(peers.stream().map(File::getName).toList());
+            for (File file : peers) {
+                String name = file.getName();
+                long offset = offsets.getOrDefault(name, 0L);
+                long size = file.length();
+                if (size < offset)
+                    offset = 0;
+                if (size != offset)
+                    offsets.put(name, offset + read(file, offset, size));
+                if (now - file.lastModified() > expiryMillis && file.delete())
+                    offsets.remove(name);
+            }
+        } catch (IOException | RuntimeException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Delivers every complete line between the offsets.
+     *
+     * @return how many bytes were consumed, which excludes a line that is still being written
+     */
+    private long read(@NotNull File file,
+                      long offset,
+                      long size) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size - offset, Integer.MAX_VALUE));
+        try (FileChannel input = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (input.read(buffer, offset + buffer.position()) < 0)
+                    break;
+            }
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            return 0;
+        }
+        byte[] bytes = buffer.array();
+        int consumed = 0;
+        for (int i = 0; i < buffer.position(); i++) {
+            if (bytes[i] != '\n')
+                continue;
+            String line = new String(bytes, consumed, i - consumed, StandardCharsets.UTF_8);
+            consumed = i + 1;
+            String[] parts = line.split(" ");
+            if (parts.length != 3)
+                continue;
+            deliver(new Invalidation(decode(parts[0]), decode(parts[1]), decode(parts[2])));
+        }
+        return consumed;
+    }
+
+    private void deliver(@NotNull Invalidation invalidation) {
+        for (Consumer<Invalidation> consumer : subscribers.getOrDefault(invalidation.channel(), List.of())) {
+            try {
+                consumer.accept(invalidation);
+            } catch (RuntimeException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    private static String encode(@NotNull String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(@NotNull String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+}
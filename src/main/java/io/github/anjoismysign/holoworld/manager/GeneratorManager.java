@@ -7,23 +7,16 @@ import io.github.anjoismysign.holoworld.exception.GenerationNotFoundException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import java.util.function.Consumer;
 
-public interface GeneratorManager<T extends DataAsset> extends Manager, Iterable<T> {
+public interface GeneratorManager<T extends DataAsset> extends PublishingManager<T> {
 
     @NotNull
     Class<? extends AssetGenerator<T>> generatorClass();
 
-    @NotNull
-    File directory();
-
     @Nullable
     DataAssetEntry<T> fetchGeneration(@NotNull String identifier);
 
@@ -35,31 +28,52 @@ public interface GeneratorManager<T extends DataAsset> extends Manager, Iterable
         return entry;
     }
 
-    @NotNull
-    Set<String> getIdentifiers();
-
     boolean add(@NotNull AssetGenerator<T> element);
 
-    default int size() {
-        return getIdentifiers().size();
-    }
-
-    default boolean isEmpty() {
-        return getIdentifiers().isEmpty();
+    /**
+     * Hands out fresh instances of a generation, each from its generator's {@code generate()},
+     * instead of the entry shared by every caller.
+     * Requires {@link ManagerOptions#freshInstances()}.
+     *
+     * @param identifier the identifier of the generation
+     * @return an unpooled supplier of instances
+     */
+    @NotNull
+    default InstancePool<T> instances(@NotNull String identifier) {
+        return instances(identifier, 0, null);
     }
 
-    default Map<String, T> map() {
-        return stream()
-                .map(asset -> Map.entry(asset.identifier(), asset))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    /**
+     * Hands out fresh instances of a generation, keeping up to {@code capacity} recycled instances to hand out again.
+     * Calls with the same identifier and capacity return the same pool, so they must pass the same {@code reset} instance,
+     * such as one kept in a constant, instead of a lambda that captures something and is built anew each call.
+     * Requires {@link ManagerOptions#freshInstances()}.
+     *
+     * @param identifier the identifier of the generation
+     * @param capacity   how many recycled instances are kept, or 0 to not pool them
+     * @param reset      restores a recycled instance before it's kept, or null if instances don't need it
+     * @return a pool of instances
+     * @throws IllegalArgumentException if the pool of the identifier and capacity was created with another reset
+     */
+    @NotNull
+    default InstancePool<T> instances(@NotNull String identifier,
+                                      int capacity,
+                                      @Nullable Consumer<? super T> reset) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't hand out fresh instances");
     }
 
-    default Stream<T> stream() {
-        return StreamSupport.stream(spliterator(), false);
+    /**
+     * @return the metrics of each identifier that instances were handed out for
+     */
+    @NotNull
+    default Map<String, InstanceMetrics> instanceMetrics() {
+        return Map.of();
     }
 
-    default Stream<T> parallelStream() {
-        return StreamSupport.stream(spliterator(), true);
+    @Override
+    @NotNull
+    default Snapshot<T> snapshot() {
+        return Snapshot.copyOf(getIdentifiers(), this::fetchGeneration);
     }
 
     @Override
@@ -0,0 +1,58 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The value of {@link View#groupingBy}: an immutable map of groups that also remembers
+ * the key each identifier was grouped under, so an update finds the group to leave
+ * even when the asset was modified in place and its key can't be derived again.
+ *
+ * @param <K> the type of key
+ * @param <T> the type of data asset
+ */
+final class Groups<K, T> extends AbstractMap<K, List<T>> {
+
+    private final Map<K, List<T>> groups;
+    private final Map<String, K> keys;
+
+    Groups(@NotNull Map<K, List<T>> groups,
+           @NotNull Map<String, K> keys) {
+        this.groups = groups;
+        this.keys = keys;
+    }
+
+    /**
+     * @return the key each identifier was grouped under, which may still hold identifiers that were removed
+     */
+    @NotNull
+    Map<String, K> keys() {
+        return keys;
+    }
+
+    @Override
+    public @Nullable List<T> get(@Nullable Object key) {
+        return groups.get(key);
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return groups.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return groups.size();
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, List<T>>> entrySet() {
+        return groups.entrySet();
+    }
+
+}
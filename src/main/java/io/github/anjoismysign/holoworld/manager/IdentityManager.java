@@ -8,23 +8,14 @@ import io.github.anjoismysign.holoworld.exception.GenerationNotFoundException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
-public interface IdentityManager<T extends DataAsset> extends Manager, Iterable<T> {
+public interface IdentityManager<T extends DataAsset> extends PublishingManager<T> {
 
     @NotNull
     Class<? extends IdentityGenerator<T>> generatorClass();
 
-    @NotNull
-    File directory();
-
     @Nullable
     DataAssetEntry<T> fetchGeneration(@NotNull String identifier);
 
@@ -36,31 +27,12 @@ public interface IdentityManager<T extends DataAsset> extends Manager, Iterable<
         return entry;
     }
 
-    @NotNull
-    Set<String> getIdentifiers();
-
     boolean add(@NotNull IdentityGeneration<T> element);
 
-    default int size() {
-        return getIdentifiers().size();
-    }
-
-    default boolean isEmpty() {
-        return getIdentifiers().isEmpty();
-    }
-
-    default Map<String, T> map() {
-        return stream()
-                .map(asset -> Map.entry(asset.identifier(), asset))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    default Stream<T> stream() {
-        return StreamSupport.stream(spliterator(), false);
-    }
-
-    default Stream<T> parallelStream() {
-        return StreamSupport.stream(spliterator(), true);
+    @Override
+    @NotNull
+    default Snapshot<T> snapshot() {
+        return Snapshot.copyOf(getIdentifiers(), this::fetchGeneration);
     }
 
     @Override
@@ -0,0 +1,39 @@
+package io.github.anjoismysign.holoworld.manager;
+
+/**
+ * How the instances of a generation were handed out since its first {@link InstancePool} was created.
+ *
+ * @param generated    instances created by {@code generate()}
+ * @param reused       instances taken from a pool instead
+ * @param recycled     instances given back and kept by a pool
+ * @param discarded    instances given back while their pool was full or unpooled, or dropped after a reload
+ * @param elapsedNanos the time over which these were counted
+ */
+public record InstanceMetrics(long generated,
+                              long reused,
+                              long recycled,
+                              long discarded,
+                              long elapsedNanos) {
+
+    /**
+     * @return how many instances {@code generate()} created per second
+     */
+    public double generatedPerSecond() {
+        return elapsedNanos == 0 ? 0 : generated * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * @return the share of handed out instances that came from a pool
+     */
+    public double reuseRatio() {
+        long handedOut = generated + reused;
+        return handedOut == 0 ? 0 : (double) reused / handedOut;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f generated/s, %d generated, %d reused (%.0f%%), %d recycled, %d discarded",
+                generatedPerSecond(), generated, reused, reuseRatio() * 100, recycled, discarded);
+    }
+
+}
@@ -0,0 +1,214 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.AssetGenerator;
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.exception.GenerationNotFoundException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hands out fresh instances of one generation, each made by the current generator of its identifier,
+ * for callers that need their own mutable copy instead of the entry shared by the manager.
+ * With a capacity, instances given back through {@link #recycle(Object)} are reset and handed out again
+ * instead of generating new ones. Pooled instances are dropped once a reload replaced the generator,
+ * and so are instances given back that an earlier generator made.
+ *
+ * @param <T> the type of data asset
+ */
+public final class InstancePool<T extends DataAsset> implements Supplier<T> {
+
+    private final String identifier;
+    private final Class<?> generatorClass;
+    private final Supplier<@Nullable AssetGenerator<T>> generator;
+    private final int capacity;
+    private final @Nullable Consumer<? super T> reset;
+    private final Counters counters;
+    private final ArrayDeque<T> idle;
+    private final Map<HandedOut, AssetGenerator<T>> handedOut = new HashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private @Nullable AssetGenerator<T> pooledFrom;
+
+    InstancePool(@NotNull String identifier,
+                 @NotNull Class<?> generatorClass,
+                 @NotNull Supplier<@Nullable AssetGenerator<T>> generator,
+                 int capacity,
+                 @Nullable Consumer<? super T> reset,
+                 @NotNull Counters counters) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("'capacity' cannot be negative");
+        this.identifier = Objects.requireNonNull(identifier, "'identifier' cannot be null");
+        this.generatorClass = generatorClass;
+        this.generator = generator;
+        this.capacity = capacity;
+        this.reset = reset;
+        this.counters = counters;
+        this.idle = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    /**
+     * @return an instance nobody else holds, either from the pool or freshly generated
+     * @throws GenerationNotFoundException if the identifier is no longer loaded
+     */
+    @Override
+    public @NotNull T get() {
+        @Nullable AssetGenerator<T> current = generator.get();
+        if (current == null)
+            throw new GenerationNotFoundException(identifier, generatorClass);
+        if (capacity > 0) {
+            synchronized (idle) {
+                if (pooledFrom != current) {
+                    counters.discarded.add(idle.size());
+                    idle.clear();
+                    pooledFrom = current;
+                }
+                @Nullable T pooled = idle.pollLast();
+                if (pooled != null) {
+                    counters.reused.increment();
+                    handOut(pooled, current);
+                    return pooled;
+                }
+            }
+        }
+        counters.generated.increment();
+        T generated = current.generate();
+        if (capacity > 0) {
+            synchronized (idle) {
+                handOut(generated, current);
+            }
+        }
+        return generated;
+    }
+
+    /**
+     * Gives an instance back once its user is done with it.
+     * The instance must not be used afterwards, since it may be handed out again.
+     *
+     * An instance this pool didn't hand out, or that a generator since replaced by a reload made, is discarded.
+     *
+     * @param instance an instance that was handed out by this pool
+     */
+    public void recycle(@NotNull T instance) {
+        Objects.requireNonNull(instance, "'instance' cannot be null");
+        if (capacity == 0) {
+            counters.discarded.increment();
+            return;
+        }
+        @Nullable AssetGenerator<T> madeBy;
+        synchronized (idle) {
+            expunge();
+            madeBy = handedOut.remove(new HandedOut(instance, null));
+        }
+        if (madeBy == null || madeBy != generator.get()) {
+            counters.discarded.increment();
+            return;
+        }
+        if (reset != null)
+            reset.accept(instance);
+        synchronized (idle) {
+            // a reload may have replaced the generator while the instance was reset
+            if (madeBy == pooledFrom && idle.size() < capacity) {
+                idle.addLast(instance);
+                counters.recycled.increment();
+                return;
+            }
+        }
+        counters.discarded.increment();
+    }
+
+    /**
+     * Remembers which generator made an instance, until it's recycled or collected.
+     * Must be called while holding {@code idle}.
+     */
+    private void handOut(@NotNull T instance,
+                         @NotNull AssetGenerator<T> madeBy) {
+        expunge();
+        handedOut.put(new HandedOut(instance, collected), madeBy);
+    }
+
+    private void expunge() {
+        for (@Nullable Reference<?> reference = collected.poll(); reference != null; reference = collected.poll())
+            handedOut.remove(reference);
+    }
+
+    @NotNull
+    public String identifier() {
+        return identifier;
+    }
+
+    @Nullable
+    Consumer<? super T> reset() {
+        return reset;
+    }
+
+    /**
+     * @return the metrics of the identifier, shared by every pool of it
+     */
+    @NotNull
+    public InstanceMetrics metrics() {
+        return counters.metrics();
+    }
+
+    /**
+     * An instance that was handed out, compared by identity and held weakly,
+     * so instances that are never given back don't pile up.
+     */
+    private static final class HandedOut extends WeakReference<Object> {
+        private final int hash;
+
+        private HandedOut(@NotNull Object instance,
+                          @Nullable ReferenceQueue<Object> queue) {
+            super(instance, queue);
+            this.hash = System.identityHashCode(instance);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this)
+                return true;
+            if (!(object instanceof HandedOut other) || hash != other.hash)
+                return false;
+            @Nullable Object instance = get();
+            return instance != null && instance == other.get();
+        }
+    }
+
+    /**
+     * The key of a pool, so a manager hands out one pool per identifier and capacity.
+     */
+    record Key(@NotNull String identifier,
+               int capacity) {
+    }
+
+    /**
+     * The counters of an identifier, shared by every pool handed out for it.
+     */
+    static final class Counters {
+        private final long since = System.nanoTime();
+        private final LongAdder generated = new LongAdder();
+        private final LongAdder reused = new LongAdder();
+        private final LongAdder recycled = new LongAdder();
+        private final LongAdder discarded = new LongAdder();
+
+        @NotNull
+        InstanceMetrics metrics() {
+            return new InstanceMetrics(generated.sum(), reused.sum(), recycled.sum(), discarded.sum(), System.nanoTime() - since);
+        }
+    }
+
+}
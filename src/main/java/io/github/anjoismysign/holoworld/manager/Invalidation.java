@@ -0,0 +1,24 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Tells the nodes listening on a channel that an identifier was added or replaced.
+ *
+ * @param channel    the channel of the manager, shared by the managers of every node that read the same directory
+ * @param identifier the identifier that changed
+ * @param origin     identifies the manager that published it, so it can ignore its own invalidations
+ */
+public record Invalidation(@NotNull String channel,
+                           @NotNull String identifier,
+                           @NotNull String origin) {
+
+    public Invalidation {
+        Objects.requireNonNull(channel, "'channel' cannot be null");
+        Objects.requireNonNull(identifier, "'identifier' cannot be null");
+        Objects.requireNonNull(origin, "'origin' cannot be null");
+    }
+
+}
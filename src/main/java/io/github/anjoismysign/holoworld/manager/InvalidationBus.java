@@ -0,0 +1,65 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link Invalidation}s between the nodes that share an asset directory,
+ * so an add on one node is re-read by the others without reloading everything.
+ * Delivery is at most once and may be delayed, and peers don't need to be told
+ * about invalidations that were published before they subscribed.
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    /**
+     * Sends an invalidation to every subscriber of its channel, possibly including the publisher.
+     *
+     * @param invalidation the invalidation
+     */
+    void publish(@NotNull Invalidation invalidation);
+
+    /**
+     * Listens to the invalidations of a channel.
+     *
+     * @param channel  the channel
+     * @param consumer accepts each invalidation, on a thread of the bus
+     * @return closes the subscription
+     */
+    @NotNull
+    AutoCloseable subscribe(@NotNull String channel,
+                            @NotNull Consumer<Invalidation> consumer);
+
+    @Override
+    void close();
+
+    /**
+     * A bus that only reaches managers of this process, which is handy for testing several nodes in one JVM.
+     * Invalidations are delivered on the publishing thread.
+     *
+     * @return a new bus
+     */
+    @NotNull
+    static InvalidationBus loopback() {
+        return new LoopbackInvalidationBus();
+    }
+
+    /**
+     * A bus over a directory on a disk shared by every node.
+     * Each node appends to its own file in the directory and polls the files of the others.
+     * Files are rotated as they grow, and files of nodes that stopped, such as after a crash,
+     * are deleted once they weren't touched for the longer of ten minutes and a hundred poll intervals.
+     *
+     * @param directory    the shared directory
+     * @param pollInterval how often the files of the other nodes are polled
+     * @return a new bus
+     */
+    @NotNull
+    static InvalidationBus file(@NotNull File directory,
+                                @NotNull Duration pollInterval) {
+        return new FileInvalidationBus(directory, pollInterval);
+    }
+
+}
@@ -0,0 +1,258 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable map made of a base map and the entries put on top of it since.
+ * The entries on top are kept in a persistent hash trie, so putting one shares everything
+ * but the path to it with the previous map and costs the same however large the base is.
+ * A reload builds a new base, which drops the entries on top.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class LayeredMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Map<K, V> base;
+    private final @Nullable Node top;
+    private final int size;
+    private @Nullable Set<Entry<K, V>> entrySet;
+
+    private LayeredMap(@NotNull Map<K, V> base,
+                       @Nullable Node top,
+                       int size) {
+        this.base = base;
+        this.top = top;
+        this.size = size;
+    }
+
+    /**
+     * Puts an entry on top of a map without copying it.
+     *
+     * @param map   the map to put on top of, which must not change afterwards
+     * @param key   the key
+     * @param value the value
+     * @param <K>   the type of the keys
+     * @param <V>   the type of the values
+     * @return a map holding the entries of {@code map} and the given one
+     */
+    static <K, V> LayeredMap<K, V> with(@NotNull Map<K, V> map,
+                                        @NotNull K key,
+                                        @NotNull V value) {
+        Objects.requireNonNull(key, "'key' cannot be null");
+        Objects.requireNonNull(value, "'value' cannot be null");
+        LayeredMap<K, V> layered = map instanceof LayeredMap<K, V> existing ? existing : new LayeredMap<>(map, null, map.size());
+        boolean[] added = new boolean[1];
+        Node top = put(layered.top, 0, new Leaf(key, value, key.hashCode(), null), added);
+        boolean grew = added[0] && !layered.base.containsKey(key);
+        return new LayeredMap<>(layered.base, top, grew ? layered.size + 1 : layered.size);
+    }
+
+    /**
+     * @return the map the entries were put on top of
+     */
+    @NotNull
+    Map<K, V> base() {
+        return base;
+    }
+
+    @Nullable
+    private Leaf find(@Nullable Object key) {
+        if (key == null)
+            return null;
+        int hash = key.hashCode();
+        @Nullable Node node = top;
+        for (int shift = 0; node != null; shift += BITS) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0)
+                return null;
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Node child) {
+                node = child;
+                continue;
+            }
+            for (@Nullable Leaf leaf = (Leaf) slot; leaf != null; leaf = leaf.next())
+                if (leaf.hash() == hash && leaf.key().equals(key))
+                    return leaf;
+            return null;
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(@Nullable Object key) {
+        @Nullable Leaf leaf = find(key);
+        return leaf != null ? (V) leaf.value() : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return find(key) != null || base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        @Nullable Set<Entry<K, V>> current = entrySet;
+        if (current != null)
+            return current;
+        current = new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<K, V>> iterator() {
+                return new Layers();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+        entrySet = current;
+        return current;
+    }
+
+    /**
+     * Iterates the base, with the entries on top replacing the ones they shadow,
+     * and then the entries on top that aren't in the base.
+     */
+    private final class Layers implements Iterator<Entry<K, V>> {
+        private final Iterator<Entry<K, V>> below = base.entrySet().iterator();
+        private @Nullable Iterator<Leaf> above;
+        private @Nullable Entry<K, V> next;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (next == null) {
+                if (below.hasNext()) {
+                    Entry<K, V> entry = below.next();
+                    @Nullable Leaf leaf = find(entry.getKey());
+                    next = leaf == null ? entry : new SimpleImmutableEntry<>((K) leaf.key(), (V) leaf.value());
+                    continue;
+                }
+                if (above == null) {
+                    List<Leaf> leaves = new ArrayList<>();
+                    collect(top, leaves);
+                    above = leaves.iterator();
+                }
+                if (!above.hasNext())
+                    return false;
+                Leaf leaf = above.next();
+                if (!base.containsKey(leaf.key()))
+                    next = new SimpleImmutableEntry<>((K) leaf.key(), (V) leaf.value());
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Entry<K, V> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+
+    private static void collect(@Nullable Node node,
+                                @NotNull List<Leaf> leaves) {
+        if (node == null)
+            return;
+        for (Object slot : node.slots) {
+            if (slot instanceof Node child)
+                collect(child, leaves);
+            else
+                for (@Nullable Leaf leaf = (Leaf) slot; leaf != null; leaf = leaf.next())
+                    leaves.add(leaf);
+        }
+    }
+
+    /**
+     * Copies the path to the leaf, sharing every other node.
+     *
+     * @param added set to true if the key wasn't in the trie yet
+     */
+    private static Node put(@Nullable Node node,
+                            int shift,
+                            @NotNull Leaf leaf,
+                            boolean @NotNull [] added) {
+        int bit = 1 << ((leaf.hash() >>> shift) & MASK);
+        if (node == null) {
+            added[0] = true;
+            return new Node(bit, new Object[]{leaf});
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, index);
+            slots[index] = leaf;
+            System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+            added[0] = true;
+            return new Node(node.bitmap | bit, slots);
+        }
+        Object slot = node.slots[index];
+        Object replacement;
+        if (slot instanceof Node child) {
+            replacement = put(child, shift + BITS, leaf, added);
+        } else {
+            Leaf existing = (Leaf) slot;
+            if (existing.hash() == leaf.hash()) {
+                replacement = chain(existing, leaf, added);
+            } else {
+                // the hashes differ, so they part ways before the shift runs out of bits
+                Node split = put(null, shift + BITS, existing, new boolean[1]);
+                replacement = put(split, shift + BITS, leaf, added);
+            }
+        }
+        Object[] slots = node.slots.clone();
+        slots[index] = replacement;
+        return new Node(node.bitmap, slots);
+    }
+
+    /**
+     * Puts a leaf into the chain of leaves whose keys have the same hash.
+     */
+    private static Leaf chain(@NotNull Leaf chain,
+                              @NotNull Leaf leaf,
+                              boolean @NotNull [] added) {
+        @Nullable Leaf rest = null;
+        boolean replaced = false;
+        for (@Nullable Leaf current = chain; current != null; current = current.next()) {
+            if (current.key().equals(leaf.key()))
+                replaced = true;
+            else
+                rest = new Leaf(current.key(), current.value(), current.hash(), rest);
+        }
+        added[0] = !replaced;
+        return new Leaf(leaf.key(), leaf.value(), leaf.hash(), rest);
+    }
+
+    private record Node(int bitmap, Object @NotNull [] slots) {
+    }
+
+    private record Leaf(@NotNull Object key,
+                        @NotNull Object value,
+                        int hash,
+                        @Nullable Leaf next) {
+    }
+
+}
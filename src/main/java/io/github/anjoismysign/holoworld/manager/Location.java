@@ -0,0 +1,51 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Where a document is read from: either a file, or an entry of an archive.
+ *
+ * @param file        the file, or the archive holding the entry
+ * @param archivePath the path of the entry inside the archive, or null for a file
+ * @param source      the path the document is read through
+ */
+record Location(@NotNull File file,
+                @Nullable String archivePath,
+                @NotNull Path source) {
+
+    static Location of(@NotNull File file) {
+        return new Location(file, null, file.toPath());
+    }
+
+    static String key(@NotNull File file,
+                      @Nullable String archivePath) {
+        return archivePath == null ? file.getPath() : file.getPath() + "!/" + archivePath;
+    }
+
+    /**
+     * @return a path that identifies the document, which is also how it's described in messages
+     */
+    @NotNull
+    String key() {
+        return key(file, archivePath);
+    }
+
+    /**
+     * @return the file name of the document, without the extension
+     */
+    @NotNull
+    String name() {
+        String name = archivePath == null ? file.getName() : new File(archivePath).getName();
+        return name.replace(".yml", "");
+    }
+
+    @NotNull
+    String absolute() {
+        return key(file.getAbsoluteFile(), archivePath);
+    }
+
+}
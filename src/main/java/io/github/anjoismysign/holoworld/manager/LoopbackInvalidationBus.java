@@ -0,0 +1,41 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+final class LoopbackInvalidationBus implements InvalidationBus {
+
+    private final Map<String, List<Consumer<Invalidation>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(@NotNull Invalidation invalidation) {
+        Objects.requireNonNull(invalidation, "'invalidation' cannot be null");
+        for (Consumer<Invalidation> consumer : subscribers.getOrDefault(invalidation.channel(), List.of())) {
+            try {
+                consumer.accept(invalidation);
+            } catch (RuntimeException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public @NotNull AutoCloseable subscribe(@NotNull String channel,
+                                            @NotNull Consumer<Invalidation> consumer) {
+        Objects.requireNonNull(consumer, "'consumer' cannot be null");
+        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(consumer);
+        return () -> subscribers.getOrDefault(channel, List.of()).remove(consumer);
+    }
+
+    @Override
+    public void close() {
+        subscribers.clear();
+    }
+
+}
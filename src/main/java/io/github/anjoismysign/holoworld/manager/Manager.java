@@ -1,7 +1,9 @@
 package io.github.anjoismysign.holoworld.manager;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -19,4 +21,28 @@ public interface Manager {
 
     void reload();
 
+    /**
+     * Reads this manager's sources without publishing them, so a group of managers
+     * can publish together (see {@link EpochGroup}).
+     * Managers that can't stage a reload simply reload when the returned handle runs.
+     *
+     * @return the handle that publishes what was read, or drops it if aborted
+     */
+    @NotNull
+    default Staged stage() {
+        return Staged.of(this::reload);
+    }
+
+    /**
+     * Reloads on a low priority background thread, staging everything before publishing it at once,
+     * so readers keep seeing the previous state until the new one is complete.
+     * Managers that support it read within {@link ManagerOptions#reloadBudget()}.
+     *
+     * @return completes once the reload was published
+     */
+    @NotNull
+    default CompletableFuture<Void> reloadInBackground() {
+        return CompletableFuture.runAsync(() -> stage().run());
+    }
+
 }
@@ -0,0 +1,115 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Flight Recorder events of the managers of {@link SingletonManagerFactory}.
+ * Each event is created and begun unconditionally, which the JIT reduces to nothing while recording is off,
+ * and its fields are only filled in when {@link Event#shouldCommit()} says it will be recorded.
+ */
+final class ManagerEvents {
+
+    private static final String CATEGORY = "Holoworld";
+
+    private ManagerEvents() {
+    }
+
+    @Name("io.github.anjoismysign.holoworld.Reload")
+    @Label("Manager Reload")
+    @Description("A manager reading every file of its roots, up to publishing them")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Reload extends Event {
+        @Label("Manager Class")
+        String managerClass;
+
+        @Label("Directory")
+        String directory;
+
+        @Label("Entries")
+        int entries;
+
+        @Label("Background")
+        boolean background;
+    }
+
+    @Name("io.github.anjoismysign.holoworld.Parse")
+    @Label("Asset Parse")
+    @Description("Reading and parsing the document of a single file")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Parse extends Event {
+        @Label("Manager Class")
+        String managerClass;
+
+        @Label("Path")
+        String path;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Reused")
+        @Description("The file didn't change, so its previous entry was reused without parsing")
+        boolean reused;
+    }
+
+    @Name("io.github.anjoismysign.holoworld.Generate")
+    @Label("Asset Generate")
+    @Description("Turning what was read from a file into the asset that is published, such as a generator's generate()")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Generate extends Event {
+        @Label("Manager Class")
+        String managerClass;
+
+        @Label("Path")
+        String path;
+
+        @Label("Identifier")
+        String identifier;
+    }
+
+    @Name("io.github.anjoismysign.holoworld.Add")
+    @Label("Asset Add")
+    @Description("Writing an added asset, into its own file or into the journal")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Add extends Event {
+        @Label("Manager Class")
+        String managerClass;
+
+        @Label("Path")
+        String path;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Journaled")
+        boolean journaled;
+    }
+
+    @Name("io.github.anjoismysign.holoworld.Duplicate")
+    @Label("Duplicate Identifier")
+    @Description("An identifier found in more than one file")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Duplicate extends Event {
+        @Label("Manager Class")
+        String managerClass;
+
+        @Label("Identifier")
+        String identifier;
+
+        @Label("Paths")
+        String paths;
+    }
+
+}
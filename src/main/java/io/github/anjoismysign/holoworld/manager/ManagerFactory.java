@@ -26,11 +26,38 @@ public interface ManagerFactory {
      * @param failOnNullField if true, the manager will fail to load if any field is null
      * @return an unloaded asset manager
      */
+    default <T extends DataAsset> AssetManager<T> unloadedAssetManager(
+            @NotNull Class<T> assetClass,
+            @NotNull File parentDirectory,
+            @Nullable Logger logger,
+            boolean failOnNullField) {
+        return unloadedAssetManager(
+                assetClass,
+                parentDirectory,
+                logger,
+                failOnNullField,
+                ManagerOptions.DEFAULT);
+    }
+
+    /**
+     * Creates an asset manager for the specified asset class and parent directory.
+     * Needs to be reloaded manually.
+     * Useful in case of looking for instantiation while delaying assets loading.
+     *
+     * @param <T>             the type of data asset
+     * @param assetClass      the class of the data asset
+     * @param parentDirectory the parent directory for the assets
+     * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
+     * @return an unloaded asset manager
+     */
     <T extends DataAsset> AssetManager<T> unloadedAssetManager(
             @NotNull Class<T> assetClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField);
+            boolean failOnNullField,
+            @NotNull ManagerOptions options);
 
     /**
      * Creates an asset manager for the specified asset class and parent directory.
@@ -43,12 +70,63 @@ public interface ManagerFactory {
      * @param failOnNullField if true, the manager will fail to load if any field is null
      * @return a loaded asset manager
      */
+    default <T extends DataAsset> AssetManager<T> assetManager(
+            @NotNull Class<T> assetClass,
+            @NotNull File parentDirectory,
+            @Nullable Logger logger,
+            boolean failOnNullField) {
+        return assetManager(
+                assetClass,
+                parentDirectory,
+                logger,
+                failOnNullField,
+                ManagerOptions.DEFAULT);
+    }
+
+    /**
+     * Creates an asset manager for the specified asset class and parent directory.
+     * Automatically reloads the asset manager.
+     *
+     * @param <T>             the type of data asset
+     * @param assetClass      the class of the data asset
+     * @param parentDirectory the parent directory for the assets
+     * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
+     * @return a loaded asset manager
+     */
     <T extends DataAsset> AssetManager<T> assetManager(
             @NotNull Class<T> assetClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField);
+            boolean failOnNullField,
+            @NotNull ManagerOptions options);
+
 
+    /**
+     * Creates a generator manager for the specified generator class and parent directory.
+     * Needs to be reloaded manually.
+     * Useful in case of looking for instantiation while delaying assets loading.
+     *
+     * @param <T>             the type of data asset
+     * @param generatorClass  the class of the asset generator
+     * @param parentDirectory the parent directory for the assets
+     * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @return an unloaded generator manager
+     */
+    default <T extends DataAsset> GeneratorManager<T> unloadedGeneratorManager(
+            @NotNull Class<? extends AssetGenerator<T>> generatorClass,
+            @NotNull File parentDirectory,
+            @Nullable Logger logger,
+            boolean failOnNullField) {
+        return unloadedGeneratorManager(
+                generatorClass,
+                parentDirectory,
+                logger,
+                failOnNullField,
+                ManagerOptions.DEFAULT);
+    }
 
     /**
      * Creates a generator manager for the specified generator class and parent directory.
@@ -60,13 +138,15 @@ public interface ManagerFactory {
      * @param parentDirectory the parent directory for the assets
      * @param logger          the logger to use for logging
      * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
      * @return an unloaded generator manager
      */
     <T extends DataAsset> GeneratorManager<T> unloadedGeneratorManager(
             @NotNull Class<? extends AssetGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField);
+            boolean failOnNullField,
+            @NotNull ManagerOptions options);
 
     /**
      * Creates a generator manager for the specified generator class and parent directory.
@@ -79,11 +159,62 @@ public interface ManagerFactory {
      * @param failOnNullField if true, the manager will fail to load if any field is null
      * @return a loaded generator manager
      */
+    default <T extends DataAsset> GeneratorManager<T> generatorManager(
+            @NotNull Class<? extends AssetGenerator<T>> generatorClass,
+            @NotNull File parentDirectory,
+            @Nullable Logger logger,
+            boolean failOnNullField) {
+        return generatorManager(
+                generatorClass,
+                parentDirectory,
+                logger,
+                failOnNullField,
+                ManagerOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a generator manager for the specified generator class and parent directory.
+     * Automatically reloads the generator manager.
+     *
+     * @param <T>             the type of data asset
+     * @param generatorClass  the class of the asset generator
+     * @param parentDirectory the parent directory for the assets
+     * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
+     * @return a loaded generator manager
+     */
     <T extends DataAsset> GeneratorManager<T> generatorManager(
             @NotNull Class<? extends AssetGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField);
+            boolean failOnNullField,
+            @NotNull ManagerOptions options);
+
+    /**
+     * Creates an identity manager for the specified generator class and parent directory.
+     * Needs to be reloaded manually.
+     * Useful in case of looking for instantiation while delaying assets loading.
+     *
+     * @param <T>             the type of data asset
+     * @param generatorClass  the class of the asset generator
+     * @param parentDirectory the parent directory for the assets
+     * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @return an unloaded identity manager
+     */
+    default <T extends DataAsset> IdentityManager<T> unloadedIdentityManager(
+            @NotNull Class<? extends IdentityGenerator<T>> generatorClass,
+            @NotNull File parentDirectory,
+            @Nullable Logger logger,
+            boolean failOnNullField) {
+        return unloadedIdentityManager(
+                generatorClass,
+                parentDirectory,
+                logger,
+                failOnNullField,
+                ManagerOptions.DEFAULT);
+    }
 
     /**
      * Creates an identity manager for the specified generator class and parent directory.
@@ -95,13 +226,39 @@ public interface ManagerFactory {
      * @param parentDirectory the parent directory for the assets
      * @param logger          the logger to use for logging
      * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
      * @return an unloaded identity manager
      */
     <T extends DataAsset> IdentityManager<T> unloadedIdentityManager(
             @NotNull Class<? extends IdentityGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField);
+            boolean failOnNullField,
+            @NotNull ManagerOptions options);
+
+    /**
+     * Creates an identity manager for the specified generator class and parent directory.
+     * Automatically reloads the identity manager.
+     *
+     * @param <T>             the type of data asset
+     * @param generatorClass  the class of the asset generator
+     * @param parentDirectory the parent directory for the assets
+     * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @return a loaded identity manager
+     */
+    default <T extends DataAsset> IdentityManager<T> identityManager(
+            @NotNull Class<? extends IdentityGenerator<T>> generatorClass,
+            @NotNull File parentDirectory,
+            @Nullable Logger logger,
+            boolean failOnNullField) {
+        return identityManager(
+                generatorClass,
+                parentDirectory,
+                logger,
+                failOnNullField,
+                ManagerOptions.DEFAULT);
+    }
 
     /**
      * Creates an identity manager for the specified generator class and parent directory.
@@ -112,13 +269,15 @@ public interface ManagerFactory {
      * @param parentDirectory the parent directory for the assets
      * @param logger          the logger to use for logging
      * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
      * @return a loaded identity manager
      */
     <T extends DataAsset> IdentityManager<T> identityManager(
             @NotNull Class<? extends IdentityGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField);
+            boolean failOnNullField,
+            @NotNull ManagerOptions options);
 
 
 }
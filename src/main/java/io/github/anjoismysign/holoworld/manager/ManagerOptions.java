@@ -0,0 +1,120 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Optional behaviour of the managers created by a {@link ManagerFactory}.
+ * Start from {@link #DEFAULT} and change what's needed, for example
+ * {@code ManagerOptions.DEFAULT.withCanonicalize(true)}.
+ *
+ * @param canonicalize     if true, equal strings and equal immutable values are shared across
+ *                         the assets of a reload, trading reload time for heap footprint
+ * @param region           if not null, asset managers keep their assets serialized in this memory-mapped file
+ *                         and decode them on demand, keeping only identifiers on the heap.
+ *                         Each rewrite goes to a new numbered file next to it, and replaced ones are deleted
+ *                         once unused. The file is reused across restarts as long as the directory didn't change.
+ *                         Not supported by generator and identity managers
+ * @param regionCacheSize  how many decoded assets of the region are kept on the heap
+ * @param journal          if true, adding appends to a journal file in the directory instead of writing
+ *                         a whole file each time. The journal is replayed on reload and folded back
+ *                         into one file per identifier in the background
+ * @param shards           more directories, or .zip and .jar archives, to read from,
+ *                         each listed and parsed in parallel with the others.
+ *                         Adding still writes into the manager's directory
+ * @param shardPrecedence  which root wins when an identifier is found in more than one
+ * @param cacheGenerations if true, a reload reuses the previous entry of every file whose content
+ *                         and class didn't change, instead of reading it and generating it again.
+ *                         Generations that depend on something other than their own file won't notice it changed
+ * @param progressive      if true, reloading returns right away and loads in the background.
+ *                         Looking up an identifier that isn't loaded yet loads {@code <identifier>.yml} first
+ *                         and only waits for that file, while iterating only sees what was published so far
+ * @param invalidationBus  if not null, each add is announced on this bus, and adds announced by other nodes
+ *                         sharing the directory re-read just the added file. Not supported with the journal
+ * @param reloadBudget     how fast {@link Manager#reloadInBackground()} may read and how many threads it may use.
+ *                         Regular reloads always read as fast as possible
+ * @param freshInstances   if true, generator managers keep each generator after generating,
+ *                         so {@link GeneratorManager#instances(String)} can hand out fresh instances.
+ *                         Only supported by generator managers
+ * @param invalidationChannel the channel managers of this directory share on the invalidation bus,
+ *                            or null to use the class name and the path of the directory.
+ *                            Set it when nodes don't reach the directory through the same path
+ */
+public record ManagerOptions(boolean canonicalize,
+                             @Nullable File region,
+                             int regionCacheSize,
+                             boolean journal,
+                             @NotNull List<File> shards,
+                             @NotNull ShardPrecedence shardPrecedence,
+                             boolean cacheGenerations,
+                             boolean progressive,
+                             @Nullable InvalidationBus invalidationBus,
+                             @NotNull ReloadBudget reloadBudget,
+                             boolean freshInstances,
+                             @Nullable String invalidationChannel) {
+
+    public static final ManagerOptions DEFAULT = new ManagerOptions(false, null, 256, false, List.of(), ShardPrecedence.FIRST_WINS, false, false, null, ReloadBudget.UNLIMITED, false, null);
+
+    public ManagerOptions {
+        if (regionCacheSize < 0)
+            throw new IllegalArgumentException("'regionCacheSize' cannot be negative");
+        shards = List.copyOf(shards);
+        Objects.requireNonNull(shardPrecedence, "'shardPrecedence' cannot be null");
+        Objects.requireNonNull(reloadBudget, "'reloadBudget' cannot be null");
+        if (journal && invalidationBus != null)
+            throw new IllegalArgumentException("the journal can't be shared with other nodes through an invalidation bus");
+    }
+
+    public ManagerOptions withCanonicalize(boolean canonicalize) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withRegion(@Nullable File region) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withRegionCacheSize(int regionCacheSize) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withJournal(boolean journal) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withShards(@NotNull List<File> shards) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withShardPrecedence(@NotNull ShardPrecedence shardPrecedence) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withCacheGenerations(boolean cacheGenerations) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withProgressive(boolean progressive) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withInvalidationBus(@Nullable InvalidationBus invalidationBus) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withReloadBudget(@NotNull ReloadBudget reloadBudget) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withFreshInstances(boolean freshInstances) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+    public ManagerOptions withInvalidationChannel(@Nullable String invalidationChannel) {
+        return new ManagerOptions(canonicalize, region, regionCacheSize, journal, shards, shardPrecedence, cacheGenerations, progressive, invalidationBus, reloadBudget, freshInstances, invalidationChannel);
+    }
+
+}
@@ -0,0 +1,134 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link View} registered on a manager, holding its current value.
+ *
+ * @param <T> the type of data asset
+ * @param <V> the type of the derived value
+ */
+public final class MaterializedView<T extends DataAsset, V> {
+
+    private final String name;
+    private final View<T, V> view;
+
+    private volatile V value;
+    private volatile long buildNanos;
+    private volatile long lastUpdateNanos;
+    private volatile int updates;
+
+    MaterializedView(@NotNull String name,
+                     @NotNull View<T, V> view) {
+        this.name = Objects.requireNonNull(name, "'name' cannot be null");
+        this.view = Objects.requireNonNull(view, "'view' cannot be null");
+    }
+
+    @NotNull
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the value derived from the manager's current entries
+     */
+    @NotNull
+    public V get() {
+        return value;
+    }
+
+    /**
+     * Estimates the memory held by the current value by walking its maps, collections and arrays.
+     * Assets are owned by the manager, so they aren't counted, and neither is anything they refer to.
+     *
+     * @return the diagnostics of this view
+     */
+    @NotNull
+    public ViewDiagnostics diagnostics() {
+        return new ViewDiagnostics(name, buildNanos, lastUpdateNanos, updates, estimate(value));
+    }
+
+    /**
+     * Builds the value from a snapshot without publishing it.
+     *
+     * @param snapshot the snapshot about to be published
+     * @return an action that publishes the value
+     */
+    @NotNull
+    Runnable stage(@NotNull Snapshot<T> snapshot) {
+        long start = System.nanoTime();
+        V built = Objects.requireNonNull(view.build(snapshot), "view '" + name + "' built null");
+        long took = System.nanoTime() - start;
+        return () -> {
+            value = built;
+            buildNanos = took;
+            lastUpdateNanos = 0;
+            updates = 0;
+        };
+    }
+
+    void update(@NotNull CatalogChange<T> change) {
+        long start = System.nanoTime();
+        value = Objects.requireNonNull(view.update(value, change), "view '" + name + "' updated to null");
+        lastUpdateNanos = System.nanoTime() - start;
+        updates++;
+    }
+
+    /**
+     * Sizes assume compressed references: a 12 byte header, 4 byte references, 8 byte alignment.
+     */
+    private static long estimate(@NotNull Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long bytes = 0;
+        while (!pending.isEmpty()) {
+            Object current = pending.pop();
+            if (current instanceof DataAsset || !visited.add(current))
+                continue;
+            if (current instanceof Groups<?, ?> groups)
+                pending.push(groups.keys());
+            if (current instanceof Map<?, ?> map) {
+                // the table plus one node per entry
+                bytes += 48 + align(16 + 4L * Integer.highestOneBit(map.size() * 2 + 1)) + 32L * map.size();
+                map.forEach((key, entry) -> {
+                    pushIfPresent(pending, key);
+                    pushIfPresent(pending, entry);
+                });
+            } else if (current instanceof Collection<?> collection) {
+                bytes += 24 + align(16 + 4L * collection.size());
+                collection.forEach(element -> pushIfPresent(pending, element));
+            } else if (current instanceof Object[] array) {
+                bytes += align(16 + 4L * array.length);
+                for (Object element : array)
+                    pushIfPresent(pending, element);
+            } else if (current instanceof String string) {
+                bytes += 24 + align(16 + string.length());
+            } else {
+                bytes += 16;
+            }
+        }
+        return bytes;
+    }
+
+    private static void pushIfPresent(@NotNull Deque<Object> pending,
+                                      Object value) {
+        if (value != null)
+            pending.push(value);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+}
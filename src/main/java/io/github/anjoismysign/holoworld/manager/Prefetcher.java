@@ -0,0 +1,137 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Maps the elements of a source on background threads, keeping at most {@code capacity} results
+ * ahead of the consumer, so memory stays bounded however long the source is.
+ * With more than one thread, results arrive in the order they were finished in.
+ *
+ * @param <I> the type of the source elements
+ * @param <O> the type of the results
+ */
+final class Prefetcher<I, O> implements Iterator<O>, AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private final Iterator<I> source;
+    private final Function<I, @Nullable O> function;
+    private final BlockingQueue<Object> results;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger running;
+    private volatile boolean closed;
+    private volatile boolean failed;
+    private @Nullable Object next;
+
+    /**
+     * @param source      the elements to map, which are taken by one thread at a time
+     * @param function    the mapping, whose null results are skipped
+     * @param capacity    how many results may be waiting for the consumer
+     * @param parallelism how many threads map at once
+     * @param name        the name of the threads
+     */
+    Prefetcher(@NotNull Iterator<I> source,
+               @NotNull Function<I, @Nullable O> function,
+               int capacity,
+               int parallelism,
+               @NotNull String name) {
+        this.source = source;
+        this.function = function;
+        this.results = new ArrayBlockingQueue<>(capacity);
+        this.running = new AtomicInteger(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            Thread thread = new Thread(this::work, name);
+            thread.setDaemon(true);
+            workers.add(thread);
+        }
+        workers.forEach(Thread::start);
+    }
+
+    private void work() {
+        try {
+            while (!closed && !failed) {
+                I input;
+                synchronized (source) {
+                    if (!source.hasNext())
+                        break;
+                    input = source.next();
+                }
+                @Nullable O output = function.apply(input);
+                if (output != null)
+                    deliver(output);
+            }
+        } catch (RuntimeException exception) {
+            // the other threads stop, but the consumer still waits for the failure
+            failed = true;
+            deliver(new Failure(exception));
+        } finally {
+            if (running.decrementAndGet() == 0)
+                deliver(END);
+        }
+    }
+
+    /**
+     * Waits for room in the queue, unless the consumer closed it, since then nobody takes from it anymore.
+     * Closing interrupts the threads, so they never wait on a queue nobody drains.
+     */
+    private void deliver(@NotNull Object result) {
+        if (closed)
+            return;
+        try {
+            results.put(result);
+        } catch (InterruptedException ignored) {
+            // closed while waiting for the consumer
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = results.take();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for the next element", exception);
+            }
+        }
+        if (next instanceof Failure failure) {
+            next = END;
+            throw failure.exception();
+        }
+        return next != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public O next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        O output = (O) next;
+        next = null;
+        return output;
+    }
+
+    /**
+     * Stops the threads and drops what they prefetched.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        workers.forEach(Thread::interrupt);
+        results.clear();
+    }
+
+    private record Failure(@NotNull RuntimeException exception) {
+    }
+
+}
@@ -0,0 +1,119 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * What asset, generator and identity managers have in common: they publish their entries as snapshots,
+ * tell listeners what changed and keep views materialized.
+ * A manager that doesn't support listeners or views throws {@link UnsupportedOperationException}
+ * from both registering and unregistering them, while lookups of them find nothing.
+ *
+ * @param <T> the type of data asset
+ */
+public interface PublishingManager<T extends DataAsset> extends Manager, Iterable<T> {
+
+    @NotNull
+    File directory();
+
+    @NotNull
+    Set<String> getIdentifiers();
+
+    /**
+     * The entries currently published by this manager.
+     * Holding on to the snapshot keeps reads consistent while the manager reloads.
+     *
+     * @return the current snapshot
+     */
+    @NotNull
+    Snapshot<T> snapshot();
+
+    /**
+     * Registers a listener that is told, on the publishing thread, what each reload or add changed.
+     *
+     * @param listener the listener
+     */
+    default void addListener(@NotNull ChangeListener<T> listener) {
+        addListener(listener, null);
+    }
+
+    /**
+     * Registers a listener that is told what each reload or add changed.
+     *
+     * @param listener the listener
+     * @param executor the executor to notify on, or null to notify on the publishing thread
+     */
+    default void addListener(@NotNull ChangeListener<T> listener,
+                             @Nullable Executor executor) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't publish changes");
+    }
+
+    default void removeListener(@NotNull ChangeListener<T> listener) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't publish changes");
+    }
+
+    /**
+     * Registers a named view, which is built on every reload and updated on every add,
+     * so reading it never recomputes it.
+     *
+     * @param name the name of the view
+     * @param view how the view is derived from the entries
+     * @param <V>  the type of the derived value
+     * @return the registered view, holding its current value
+     */
+    @NotNull
+    default <V> MaterializedView<T, V> registerView(@NotNull String name,
+                                                    @NotNull View<T, V> view) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't materialize views");
+    }
+
+    default boolean unregisterView(@NotNull String name) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't materialize views");
+    }
+
+    @Nullable
+    default MaterializedView<T, ?> getView(@NotNull String name) {
+        return null;
+    }
+
+    /**
+     * @return the build time, update time and memory of each registered view
+     */
+    @NotNull
+    default List<ViewDiagnostics> viewDiagnostics() {
+        return List.of();
+    }
+
+    default int size() {
+        return getIdentifiers().size();
+    }
+
+    default boolean isEmpty() {
+        return getIdentifiers().isEmpty();
+    }
+
+    default Map<String, T> map() {
+        return stream()
+                .map(asset -> Map.entry(asset.identifier(), asset))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+}
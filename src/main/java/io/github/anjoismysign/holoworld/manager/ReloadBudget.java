@@ -0,0 +1,42 @@
+package io.github.anjoismysign.holoworld.manager;
+
+/**
+ * Limits how hard a background reload may use the disk and the CPU,
+ * so it can run on a busy host without starving everything else.
+ *
+ * @param filesPerSecond how many files may be read per second, or 0 for no limit
+ * @param bytesPerSecond how many bytes may be read per second, or 0 for no limit
+ * @param parallelism    how many threads may read and parse at once, or 0 for no limit
+ */
+public record ReloadBudget(double filesPerSecond,
+                           long bytesPerSecond,
+                           int parallelism) {
+
+    public static final ReloadBudget UNLIMITED = new ReloadBudget(0, 0, 0);
+
+    public ReloadBudget {
+        if (filesPerSecond < 0 || Double.isNaN(filesPerSecond))
+            throw new IllegalArgumentException("'filesPerSecond' cannot be negative");
+        if (bytesPerSecond < 0)
+            throw new IllegalArgumentException("'bytesPerSecond' cannot be negative");
+        if (parallelism < 0)
+            throw new IllegalArgumentException("'parallelism' cannot be negative");
+    }
+
+    public boolean isUnlimited() {
+        return filesPerSecond == 0 && bytesPerSecond == 0 && parallelism == 0;
+    }
+
+    public ReloadBudget withFilesPerSecond(double filesPerSecond) {
+        return new ReloadBudget(filesPerSecond, bytesPerSecond, parallelism);
+    }
+
+    public ReloadBudget withBytesPerSecond(long bytesPerSecond) {
+        return new ReloadBudget(filesPerSecond, bytesPerSecond, parallelism);
+    }
+
+    public ReloadBudget withParallelism(int parallelism) {
+        return new ReloadBudget(filesPerSecond, bytesPerSecond, parallelism);
+    }
+
+}
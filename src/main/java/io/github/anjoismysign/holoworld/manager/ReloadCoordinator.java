@@ -0,0 +1,204 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Reloads many managers concurrently on a shared, bounded pool.
+ * Managers are registered unloaded (see {@link ManagerFactory#unloadedAssetManager})
+ * and a manager only starts reloading once every manager it depends on has finished.
+ * Dependencies must be registered before their dependents, so cycles can't be declared.
+ */
+public final class ReloadCoordinator implements AutoCloseable {
+
+    private final Executor executor;
+    private final @Nullable ExecutorService owned;
+    private final @Nullable Logger logger;
+    private final Map<Manager, Node> nodes = new LinkedHashMap<>();
+    private boolean closed;
+
+    private ReloadCoordinator(@NotNull Executor executor,
+                              @Nullable ExecutorService owned,
+                              @Nullable Logger logger) {
+        this.executor = executor;
+        this.owned = owned;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates a coordinator that runs reloads on the given executor,
+     * which stays owned by the caller, so {@link #close()} doesn't shut it down.
+     *
+     * @param executor the executor to reload on
+     * @param logger   the logger to report timings to
+     * @return a new coordinator
+     */
+    public static ReloadCoordinator of(@NotNull Executor executor,
+                                       @Nullable Logger logger) {
+        Objects.requireNonNull(executor, "'executor' cannot be null");
+        return new ReloadCoordinator(executor, null, logger);
+    }
+
+    /**
+     * Creates a coordinator backed by a daemon pool of {@code parallelism} threads.
+     * The pool is shared across every {@link #reloadAll()} call of this coordinator
+     * and is shut down by {@link #close()}.
+     *
+     * @param parallelism the maximum amount of managers reloading at the same time
+     * @param logger      the logger to report timings to
+     * @return a new coordinator
+     */
+    public static ReloadCoordinator of(int parallelism,
+                                       @Nullable Logger logger) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("'parallelism' must be at least 1");
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "holoworld-reload-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ReloadCoordinator(pool, pool, logger);
+    }
+
+    /**
+     * Registers a manager to be reloaded.
+     *
+     * @param manager   the manager to reload
+     * @param dependsOn managers that need to be reloaded before this one, already registered
+     * @return this coordinator
+     */
+    public synchronized ReloadCoordinator register(@NotNull Manager manager,
+                                                   @NotNull Manager... dependsOn) {
+        Objects.requireNonNull(manager, "'manager' cannot be null");
+        if (nodes.containsKey(manager))
+            throw new IllegalArgumentException(describe(manager) + " is already registered");
+        List<Node> dependencies = new ArrayList<>();
+        for (Manager dependency : dependsOn) {
+            Node node = nodes.get(dependency);
+            if (node == null)
+                throw new IllegalArgumentException(describe(manager) + " depends on " + describe(dependency) + ", which isn't registered yet");
+            dependencies.add(node);
+        }
+        nodes.put(manager, new Node(manager, List.copyOf(dependencies)));
+        return this;
+    }
+
+    /**
+     * Reloads every registered manager, blocking until all of them are done.
+     * If a manager fails, its dependents are skipped and the first failure is thrown
+     * once the remaining managers finished.
+     *
+     * @return the timings of this reload
+     */
+    public synchronized ReloadReport reloadAll() {
+        if (closed)
+            throw new IllegalStateException("the coordinator is closed");
+        long start = System.nanoTime();
+        Map<Node, CompletableFuture<Long>> futures = new LinkedHashMap<>();
+        Map<Node, ReloadReport.Timing> timings = new HashMap<>();
+        for (Node node : nodes.values()) {
+            CompletableFuture<?>[] dependencies = node.dependencies.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Long> future = CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> {
+                        long begin = System.nanoTime();
+                        node.manager.reload();
+                        long end = System.nanoTime();
+                        long slowestDependency = 0;
+                        for (Node dependency : node.dependencies)
+                            slowestDependency = Math.max(slowestDependency, timingOf(timings, dependency).criticalPathNanos());
+                        long criticalPath = (end - begin) + slowestDependency;
+                        synchronized (timings) {
+                            timings.put(node, new ReloadReport.Timing(describe(node.manager), begin - start, end - begin, criticalPath));
+                        }
+                        return end - begin;
+                    }, executor);
+            futures.put(node, future);
+        }
+
+        RuntimeException failure = null;
+        Set<Throwable> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<Node, CompletableFuture<Long>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().join();
+            } catch (CompletionException exception) {
+                Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+                if (!reported.add(cause))
+                    continue;
+                if (failure == null)
+                    failure = new RuntimeException("Couldn't reload " + describe(entry.getKey().manager), cause);
+                else
+                    failure.addSuppressed(cause);
+            }
+        }
+        if (failure != null)
+            throw failure;
+
+        List<ReloadReport.Timing> ordered = nodes.values().stream()
+                .map(node -> timingOf(timings, node))
+                .toList();
+        ReloadReport report = new ReloadReport(System.nanoTime() - start, ordered);
+        if (logger != null)
+            logger.info(report.toString());
+        return report;
+    }
+
+    /**
+     * Shuts down the pool created by {@link #of(int, Logger)} once the current reload finished.
+     * A coordinator created with an executor leaves it running.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (owned != null)
+            owned.shutdown();
+    }
+
+    private static ReloadReport.Timing timingOf(Map<Node, ReloadReport.Timing> timings,
+                                                Node node) {
+        synchronized (timings) {
+            return Objects.requireNonNull(timings.get(node), "timing is null");
+        }
+    }
+
+    static String describe(@NotNull Manager manager) {
+        if (manager instanceof AssetManager<?> assetManager)
+            return assetManager.assetClass().getSimpleName();
+        if (manager instanceof GeneratorManager<?> generatorManager)
+            return generatorManager.generatorClass().getSimpleName();
+        if (manager instanceof IdentityManager<?> identityManager)
+            return identityManager.generatorClass().getSimpleName();
+        return manager.getClass().getName();
+    }
+
+    private static final class Node {
+        private final Manager manager;
+        private final List<Node> dependencies;
+
+        private Node(@NotNull Manager manager,
+                     @NotNull List<Node> dependencies) {
+            this.manager = manager;
+            this.dependencies = dependencies;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of a {@link ReloadCoordinator#reloadAll()} call.
+ *
+ * @param totalNanos wall-clock time of the whole reload
+ * @param timings    timings of every manager, in registration order
+ */
+public record ReloadReport(long totalNanos,
+                           @NotNull List<Timing> timings) {
+
+    /**
+     * @param manager           the described manager
+     * @param startOffsetNanos  time between the start of the reload and the start of this manager
+     * @param durationNanos     time spent reloading this manager alone
+     * @param criticalPathNanos duration of this manager plus its slowest chain of dependencies
+     */
+    public record Timing(@NotNull String manager,
+                         long startOffsetNanos,
+                         long durationNanos,
+                         long criticalPathNanos) {
+    }
+
+    /**
+     * The sum of every manager's duration, which is what a serial reload would have taken.
+     *
+     * @return the serial time in nanoseconds
+     */
+    public long serialNanos() {
+        return timings.stream().mapToLong(Timing::durationNanos).sum();
+    }
+
+    /**
+     * The longest chain of dependent managers, which bounds how fast the reload can get.
+     *
+     * @return the critical path in nanoseconds
+     */
+    public long criticalPathNanos() {
+        return timings.stream().mapToLong(Timing::criticalPathNanos).max().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("reloaded " + timings.size() + " managers in " + millis(totalNanos) + "ms"
+                + " (serial " + millis(serialNanos()) + "ms, critical path " + millis(criticalPathNanos()) + "ms)");
+        timings.stream()
+                .sorted(Comparator.comparingLong(Timing::criticalPathNanos).reversed())
+                .forEach(timing -> builder.append("\n  ").append(timing.manager())
+                        .append(": ").append(millis(timing.durationNanos())).append("ms")
+                        .append(" (critical path ").append(millis(timing.criticalPathNanos())).append("ms)"));
+        return builder.toString();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+}
@@ -0,0 +1,17 @@
+package io.github.anjoismysign.holoworld.manager;
+
+/**
+ * Which root wins when an identifier is found in more than one root of a manager.
+ * Roots are ordered as the manager's directory followed by {@link ManagerOptions#shards()}.
+ * Either way, identifiers found in more than one root are reported as duplicates.
+ */
+public enum ShardPrecedence {
+    /**
+     * The first root that has the identifier wins, so the manager's directory overrides every shard.
+     */
+    FIRST_WINS,
+    /**
+     * The last root that has the identifier wins, so each shard overrides the roots before it.
+     */
+    LAST_WINS
+}
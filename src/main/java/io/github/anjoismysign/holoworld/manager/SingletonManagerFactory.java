@@ -1,37 +1,29 @@
 package io.github.anjoismysign.holoworld.manager;
 
-import io.github.anjoismysign.aesthetic.DirectoryAssistant;
 import io.github.anjoismysign.holoworld.asset.AssetGenerator;
 import io.github.anjoismysign.holoworld.asset.DataAsset;
 import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
 import io.github.anjoismysign.holoworld.asset.IdentityGeneration;
 import io.github.anjoismysign.holoworld.asset.IdentityGenerator;
+import io.github.anjoismysign.holoworld.exception.GenerationNotFoundException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
-import org.yaml.snakeyaml.nodes.Tag;
-import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * A factory class for creating managers for assets and generators.
@@ -54,21 +46,16 @@ public enum SingletonManagerFactory implements ManagerFactory {
             @NotNull Class<T> assetClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField) {
-        final Map<String, DataAssetEntry<T>> assets = new HashMap<>();
-        final Map<String, List<String>> duplicates = new HashMap<>();
-
-        //@Nullable output
-        Function<File, T> read = file -> {
-            Objects.requireNonNull(file, "'file' cannot be null");
-            if (!file.isFile())
-                return null;
-            String path = file.getPath();
-            try (FileInputStream fileInputStream = new FileInputStream(file)) {
+            boolean failOnNullField,
+            @NotNull ManagerOptions options) {
+        if (options.freshInstances())
+            throw new IllegalArgumentException("fresh instances are only supported by generator managers");
+        SourceReader<T> read = (path, input) -> {
+            try {
                 Constructor constructor = new Constructor(assetClass, new LoaderOptions());
                 constructor.getPropertyUtils().setSkipMissingProperties(!failOnNullField);
                 Yaml yaml = new Yaml(constructor);
-                T instance = yaml.load(fileInputStream);
+                T instance = yaml.load(input);
                 Objects.requireNonNull(instance.identifier(), path + " attempted to be read, but 'identifier' cannot be null");
                 return instance;
             } catch (Throwable throwable) {
@@ -76,54 +63,14 @@ public enum SingletonManagerFactory implements ManagerFactory {
             }
         };
 
-        BiFunction<File, T, DataAssetEntry<T>> parse = ((file, dataAsset) -> new DataAssetEntry<>() {
-            public @NotNull File file() {
-                return file;
-            }
+        @Nullable File regionFile = options.region();
+        AssetRegion<T> region = regionFile == null ? null : new AssetRegion<>(assetClass, regionFile, failOnNullField, options.regionCacheSize());
+        Catalog<T, T> catalog = new Catalog<>(assetClass, parentDirectory, logger, options, false,
+                read, Function.identity(), asset -> asset, region);
 
-            public @NotNull T asset() {
-                return dataAsset;
-            }
-        });
-
-        Runnable readAll = () -> {
-            if (!parentDirectory.exists()) {
-                parentDirectory.mkdirs();
-                return;
-            }
-
-            String extension = ".yml";
-
-            DirectoryAssistant directoryAssistant = DirectoryAssistant.of(parentDirectory);
-            Collection<File> files = directoryAssistant.listRecursively(extension);
-            if (logger != null)
-                logger.info(parentDirectory.getPath() + " has this many files (" + files.size() + ")");
-            files.forEach(file -> {
-                String path = file.getPath();
-                if (logger != null)
-                    logger.info(path);
-                @Nullable T asset = read.apply(file);
-                if (asset == null)
-                    return;
-                String identifier = asset.identifier();
-                DataAssetEntry<T> entry = parse.apply(file, asset);
-                @Nullable DataAssetEntry<T> previous = assets.put(identifier, entry);
-                if (previous == null)
-                    return;
-                List<String> list = duplicates.computeIfAbsent(identifier, k -> new ArrayList<>());
-                list.add(previous.file().getAbsolutePath());
-                list.add(file.getAbsolutePath());
-            });
-
-
-            if (logger != null)
-                logger.info("loaded with identifiers: [" + String.join(",", assets.keySet()) + "]");
-        };
-
-        return new AssetManager<>() {
-            @Override
-            public @Nullable Logger logger() {
-                return logger;
+        final class Assets extends CatalogManager<T, T> implements AssetManager<T> {
+            private Assets() {
+                super(catalog, parentDirectory, logger);
             }
 
             @Override
@@ -131,74 +78,33 @@ public enum SingletonManagerFactory implements ManagerFactory {
                 return assetClass;
             }
 
-            @Override
-            public @NotNull File directory() {
-                return parentDirectory;
-            }
-
-            @Override
-            public void reload() {
-                assets.clear();
-                readAll.run();
-                duplicates.forEach((key, list) -> ifLogger(logger -> {
-                    String duplicates = "{" + String.join(", ", list) + "}";
-                    logger.severe(assetClass().getCanonicalName() + " has duplicates for'" + key + "' : " + duplicates);
-                }));
-                duplicates.clear();
-            }
-
             @Override
             public @Nullable DataAssetEntry<T> fetchAsset(@NotNull String identifier) {
-                return assets.get(identifier);
+                return catalog.fetch(identifier);
             }
 
             @Override
-            public @NotNull Set<String> getIdentifiers() {
-                return assets.keySet();
+            public @NotNull Stream<DataAssetEntry<T>> streamFromDisk(int prefetch,
+                                                                     int parallelism,
+                                                                     @NotNull BiConsumer<File, RuntimeException> onError) {
+                return catalog.traverse(prefetch, parallelism, onError);
             }
-
-
-            @Override
-            public boolean add(@NotNull T element) {
-                Objects.requireNonNull(element, "'element' cannot be null");
-                String identifier = element.identifier();
-                File file = new File(parentDirectory, identifier + ".yml");
-                String path = file.getPath();
-
-                Representer representer = new Representer(new DumperOptions());
-                representer.addClassTag(assetClass, Tag.MAP);
-                Yaml yaml = new Yaml(representer);
-                try (FileWriter writer = new FileWriter(file.getAbsolutePath())) {
-                    yaml.dump(element, writer);
-                } catch (Throwable throwable) {
-                    throw new RuntimeException("Found the following issue at '" + path + "'\n" + toStackTrace(throwable));
-                }
-
-                DataAssetEntry<T> entry = parse.apply(file, element);
-                DataAssetEntry<T> previous = assets.put(identifier, entry);
-                if (previous != null) {
-                    T previousAsset = previous.asset();
-                    String previousPath = previous.file().getPath();
-                    T currentAsset = entry.asset();
-                    String currentPath = entry.file().getPath();
-
-                    System.out.println(previousPath + " and " + previousAsset.identifier() + " was replaced by " + currentPath + " (" + currentAsset.identifier() + ")");
-                }
-                return true;
-            }
-        };
+        }
+        return new Assets();
     }
 
     public <T extends DataAsset> AssetManager<T> assetManager(
             @NotNull Class<T> assetClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField) {
+            boolean failOnNullField,
+            @NotNull ManagerOptions options) {
         AssetManager<T> unloaded = unloadedAssetManager(
                 assetClass,
                 parentDirectory,
                 logger,
-                failOnNullField);
+                failOnNullField,
+                options);
         unloaded.reload();
         return unloaded;
     }
@@ -212,28 +118,24 @@ public enum SingletonManagerFactory implements ManagerFactory {
      * @param generatorClass  the class of the asset generator
      * @param parentDirectory the parent directory for the assets
      * @param logger          the logger to use for logging
+     * @param failOnNullField if true, the manager will fail to load if any field is null
+     * @param options         the optional behaviour of the manager
      * @return an unloaded generator manager
      */
     public <T extends DataAsset> GeneratorManager<T> unloadedGeneratorManager(
             @NotNull Class<? extends AssetGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField) {
-        final Map<String, DataAssetEntry<? extends AssetGenerator<T>>> assets = new HashMap<>();
-        final Map<String, DataAssetEntry<T>> generations = new HashMap<>();
-        final Map<String, List<String>> duplicates = new HashMap<>();
-
-        //@Nullable output
-        Function<File, ? extends AssetGenerator<T>> read = file -> {
-            Objects.requireNonNull(file, "'file' cannot be null");
-            if (!file.isFile())
-                return null;
-            String path = file.getPath();
-            try (FileInputStream fileInputStream = new FileInputStream(file)) {
+            boolean failOnNullField,
+            @NotNull ManagerOptions options) {
+        if (options.region() != null)
+            throw new IllegalArgumentException("regions are only supported by asset managers");
+        SourceReader<AssetGenerator<T>> read = (path, input) -> {
+            try {
                 Constructor constructor = new Constructor(generatorClass, new LoaderOptions());
                 constructor.getPropertyUtils().setSkipMissingProperties(!failOnNullField);
                 Yaml yaml = new Yaml(constructor);
-                AssetGenerator<T> instance = yaml.load(fileInputStream);
+                AssetGenerator<T> instance = yaml.load(input);
                 Objects.requireNonNull(instance.identifier(), path + " attempted to be read, but 'identifier' cannot be null");
                 return instance;
             } catch (Throwable throwable) {
@@ -241,163 +143,72 @@ public enum SingletonManagerFactory implements ManagerFactory {
             }
         };
 
-        BiFunction<File, AssetGenerator<T>, DataAssetEntry<AssetGenerator<T>>> parse = ((file, dataAsset) -> new DataAssetEntry<>() {
-            public @NotNull File file() {
-                return file;
-            }
-
-            public @NotNull AssetGenerator<T> asset() {
-                return dataAsset;
-            }
-        });
-
-        Runnable readAll = () -> {
-            if (!parentDirectory.exists()) {
-                parentDirectory.mkdirs();
-                return;
-            }
-
-            String extension = ".yml";
-
-            DirectoryAssistant directoryAssistant = DirectoryAssistant.of(parentDirectory);
-            Collection<File> files = directoryAssistant.listRecursively(extension);
+        Function<AssetGenerator<T>, T> generate = generator -> {
+            T asset = generator.generate();
             if (logger != null)
-                logger.info(parentDirectory.getPath() + " has this many files (" + files.size() + ")");
-            files.forEach(file -> {
-                try {
-                    String path = file.getPath();
-                    if (logger != null)
-                        logger.info(path);
-                    @Nullable AssetGenerator<T> assetGenerator = read.apply(file);
-                    if (assetGenerator == null)
-                        return;
-                    String identifier = assetGenerator.identifier();
-                    DataAssetEntry<? extends AssetGenerator<T>> entry = parse.apply(file, assetGenerator);
-                    @Nullable DataAssetEntry<? extends AssetGenerator<T>> previous = assets.put(identifier, entry);
-                    if (previous == null)
-                        return;
-                    List<String> list = duplicates.computeIfAbsent(identifier, k -> new ArrayList<>());
-                    list.add(previous.file().getAbsolutePath());
-                    list.add(file.getAbsolutePath());
-                } catch (Throwable throwable) {
-                    throwable.printStackTrace();
-                }
-            });
-
-            try {
-                if (logger != null)
-                    logger.info("loaded with identifiers: [" + String.join(",", assets.keySet()) + "]");
-
-                assets.forEach((identifier, generatorEntry) -> {
-                    File file = generatorEntry.file();
-                    T asset = generatorEntry.asset().generate();
-                    if (logger != null) {
-                        logger.info("loaded generation: " + asset.identifier());
-                    }
-                    DataAssetEntry<T> assetEntry = new DataAssetEntry<>() {
-                        @Override
-                        public @NotNull File file() {
-                            return file;
-                        }
-
-                        @Override
-                        public @NotNull T asset() {
-                            return asset;
-                        }
-                    };
-                    if (logger != null)
-                        logger.info("loaded DataAssetEntry: " + asset.identifier());
+                logger.info("loaded generation: " + asset.identifier());
+            return asset;
+        };
 
-                    generations.put(identifier, assetEntry);
-                });
+        Catalog<AssetGenerator<T>, T> catalog = new Catalog<>(generatorClass, parentDirectory, logger, options, true,
+                read, generate, generator -> generator, null);
+        Map<String, InstancePool.Counters> counters = new ConcurrentHashMap<>();
+        Map<InstancePool.Key, InstancePool<T>> pools = new ConcurrentHashMap<>();
 
-                if (logger != null)
-                    logger.info("loaded with generations: " + String.join(",", generations.keySet()));
-            } catch (Throwable throwable) {
-                throwable.printStackTrace();
+        final class Generators extends CatalogManager<AssetGenerator<T>, T> implements GeneratorManager<T> {
+            private Generators() {
+                super(catalog, parentDirectory, logger);
             }
-        };
 
-        return new GeneratorManager<>() {
             @Override
             public @NotNull Class<? extends AssetGenerator<T>> generatorClass() {
                 return generatorClass;
             }
 
-            @Override
-            public @NotNull File directory() {
-                return parentDirectory;
-            }
-
             @Override
             public @Nullable DataAssetEntry<T> fetchGeneration(@NotNull String identifier) {
-                return generations.get(identifier);
-            }
-
-
-            @Override
-            public @NotNull Set<String> getIdentifiers() {
-                return generations.keySet();
+                return catalog.fetch(identifier);
             }
 
             @Override
-            public boolean add(@NotNull AssetGenerator<T> element) {
-                Objects.requireNonNull(element, "'element' cannot be null");
-                String identifier = element.identifier();
-                File file = new File(parentDirectory, identifier + ".yml");
-                String path = file.getPath();
-
-                Representer representer = new Representer(new DumperOptions());
-                representer.addClassTag(generatorClass, Tag.MAP);
-                Yaml yaml = new Yaml(representer);
-                try (FileWriter writer = new FileWriter(file.getAbsolutePath())) {
-                    yaml.dump(element, writer);
-                } catch (Throwable throwable) {
-                    throw new RuntimeException("Found the following issue at '" + path + "'\n" + toStackTrace(throwable));
-                }
-
-                DataAssetEntry<? extends AssetGenerator<T>> entry = parse.apply(file, element);
-                DataAssetEntry<? extends AssetGenerator<T>> previous = assets.put(identifier, entry);
-                if (previous != null) {
-                    AssetGenerator<T> previousGenerator = previous.asset();
-                    String previousPath = previous.file().getPath();
-                    AssetGenerator<T> currentGenerator = entry.asset();
-                    String currentPath = entry.file().getPath();
-
-                    System.out.println(previousPath + " and " + previousGenerator.identifier() + " was replaced by " + currentPath + " (" + currentGenerator.identifier() + ")");
-                }
-                return true;
-            }
-
-            @Override
-            public @Nullable Logger logger() {
-                return logger;
+            public @NotNull InstancePool<T> instances(@NotNull String identifier,
+                                                      int capacity,
+                                                      @Nullable Consumer<? super T> reset) {
+                if (!options.freshInstances())
+                    throw new IllegalStateException("fresh instances need ManagerOptions#freshInstances() to be enabled");
+                if (catalog.source(identifier) == null)
+                    throw new GenerationNotFoundException(identifier, generatorClass);
+                InstancePool<T> pool = pools.computeIfAbsent(new InstancePool.Key(identifier, capacity), key -> {
+                    InstancePool.Counters counter = counters.computeIfAbsent(identifier, ignored -> new InstancePool.Counters());
+                    return new InstancePool<>(identifier, generatorClass, () -> catalog.source(identifier), capacity, reset, counter);
+                });
+                if (pool.reset() != reset)
+                    throw new IllegalArgumentException("the pool of '" + identifier + "' with a capacity of " + capacity + " was already created with another reset");
+                return pool;
             }
 
             @Override
-            public void reload() {
-                generations.clear();
-                readAll.run();
-                duplicates.forEach((key, list) -> ifLogger(logger -> {
-                    String duplicates = "{" + String.join(", ", list) + "}";
-                    logger.severe(generatorClass.getCanonicalName() + " has duplicates for'" + key + "' : " + duplicates);
-                }));
-                duplicates.clear();
-                assets.clear();
+            public @NotNull Map<String, InstanceMetrics> instanceMetrics() {
+                Map<String, InstanceMetrics> metrics = new HashMap<>();
+                counters.forEach((identifier, counter) -> metrics.put(identifier, counter.metrics()));
+                return Map.copyOf(metrics);
             }
-        };
+        }
+        return new Generators();
     }
 
     public <T extends DataAsset> GeneratorManager<T> generatorManager(
             @NotNull Class<? extends AssetGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField) {
+            boolean failOnNullField,
+            @NotNull ManagerOptions options) {
         GeneratorManager<T> unloaded = unloadedGeneratorManager(
                 generatorClass,
                 parentDirectory,
                 logger,
-                failOnNullField);
+                failOnNullField,
+                options);
         unloaded.reload();
         return unloaded;
     }
@@ -406,23 +217,19 @@ public enum SingletonManagerFactory implements ManagerFactory {
             @NotNull Class<? extends IdentityGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField) {
-        final Map<String, DataAssetEntry<? extends IdentityGeneration<T>>> assets = new HashMap<>();
-        final Map<String, DataAssetEntry<T>> generations = new HashMap<>();
-        final Map<String, List<String>> duplicates = new HashMap<>();
-
-        //@Nullable output
-        Function<File, IdentityGeneration<T>> read = file -> {
-            Objects.requireNonNull(file, "'file' cannot be null");
-            if (!file.isFile())
-                return null;
-            String identifier = file.getName().replace(".yml", "");
-            String path = file.getPath();
-            try (FileInputStream fileInputStream = new FileInputStream(file)) {
+            boolean failOnNullField,
+            @NotNull ManagerOptions options) {
+        if (options.region() != null)
+            throw new IllegalArgumentException("regions are only supported by asset managers");
+        if (options.freshInstances())
+            throw new IllegalArgumentException("fresh instances are only supported by generator managers");
+        SourceReader<IdentityGeneration<T>> read = (path, input) -> {
+            String identifier = new File(path).getName().replace(".yml", "");
+            try {
                 Constructor constructor = new Constructor(generatorClass, new LoaderOptions());
                 constructor.getPropertyUtils().setSkipMissingProperties(!failOnNullField);
                 Yaml yaml = new Yaml(constructor);
-                IdentityGenerator<T> instance = yaml.load(fileInputStream);
+                IdentityGenerator<T> instance = yaml.load(input);
                 Objects.requireNonNull(identifier, path + " attempted to be read, but 'identifier' cannot be null");
                 return new IdentityGeneration<>(identifier, instance);
             } catch (Throwable throwable) {
@@ -430,172 +237,51 @@ public enum SingletonManagerFactory implements ManagerFactory {
             }
         };
 
-        BiFunction<File, IdentityGeneration<T>, DataAssetEntry<IdentityGeneration<T>>> parse = ((file, dataAsset) -> new DataAssetEntry<>() {
-            public @NotNull File file() {
-                return file;
-            }
-
-            public @NotNull IdentityGeneration<T> asset() {
-                return dataAsset;
-            }
-        });
-
-        Runnable readAll = () -> {
-            if (!parentDirectory.exists()) {
-                parentDirectory.mkdirs();
-                return;
-            }
-
-            String extension = ".yml";
-
-            DirectoryAssistant directoryAssistant = DirectoryAssistant.of(parentDirectory);
-            Collection<File> files = directoryAssistant.listRecursively(extension);
+        Function<IdentityGeneration<T>, T> generate = generation -> {
+            T asset = Objects.requireNonNull(generation.asset(), "asset is null: " + generation.identifier());
             if (logger != null)
-                logger.info(parentDirectory.getPath() + " has this many files (" + files.size() + ")");
-            files.forEach(file -> {
-                try {
-                    String path = file.getPath();
-                    if (logger != null)
-                        logger.info(path);
-                    @Nullable IdentityGeneration<T> identityGenerator = read.apply(file);
-                    if (identityGenerator == null)
-                        return;
-                    String identifier = identityGenerator.identifier();
-                    DataAssetEntry<? extends IdentityGeneration<T>> entry = parse.apply(file, identityGenerator);
-                    @Nullable DataAssetEntry<? extends IdentityGeneration<T>> previous = assets.put(identifier, entry);
-                    if (previous == null)
-                        return;
-                    List<String> list = duplicates.computeIfAbsent(identifier, k -> new ArrayList<>());
-                    list.add(previous.file().getAbsolutePath());
-                    list.add(file.getAbsolutePath());
-                } catch (Throwable throwable) {
-                    throwable.printStackTrace();
-                }
-            });
-
-            try {
-                if (logger != null)
-                    logger.info("loaded with identifiers: [" + String.join(",", assets.keySet()) + "]");
-
-                assets.forEach((identifier, generatorEntry) -> {
-                    File file = generatorEntry.file();
-                    IdentityGeneration<T> generation = generatorEntry.asset();
-                    T asset = generation.asset();
-                    if (logger != null) {
-                        if (asset == null)
-                            logger.severe("asset is null: " + file.getPath());
-                        else
-                            logger.info("loaded generation: " + asset.identifier());
-                    }
-                    DataAssetEntry<T> assetEntry = new DataAssetEntry<>() {
-                        @Override
-                        public @NotNull File file() {
-                            return file;
-                        }
-
-                        @Override
-                        public @NotNull T asset() {
-                            return asset;
-                        }
-                    };
-                    if (logger != null)
-                        logger.info("loaded DataAssetEntry: " + asset.identifier());
+                logger.info("loaded generation: " + asset.identifier());
+            return asset;
+        };
 
-                    generations.put(identifier, assetEntry);
-                });
+        Catalog<IdentityGeneration<T>, T> catalog = new Catalog<>(generatorClass, parentDirectory, logger, options, true,
+                read, generate, IdentityGeneration::generator, null);
 
-                if (logger != null)
-                    logger.info("loaded with generations: " + String.join(",", generations.keySet()));
-            } catch (Throwable throwable) {
-                throwable.printStackTrace();
+        final class Identities extends CatalogManager<IdentityGeneration<T>, T> implements IdentityManager<T> {
+            private Identities() {
+                super(catalog, parentDirectory, logger);
             }
-        };
-
-        return new IdentityManager<>() {
 
             @Override
             public @NotNull Class<? extends IdentityGenerator<T>> generatorClass() {
                 return generatorClass;
             }
 
-            @Override
-            public @NotNull File directory() {
-                return parentDirectory;
-            }
-
             @Override
             public @Nullable DataAssetEntry<T> fetchGeneration(@NotNull String identifier) {
-                return generations.get(identifier);
-            }
-
-            @Override
-            public @NotNull Set<String> getIdentifiers() {
-                return generations.keySet();
-            }
-
-            @Override
-            public boolean add(@NotNull IdentityGeneration<T> element) {
-                Objects.requireNonNull(element, "'element' cannot be null");
-                String identifier = element.identifier();
-                File file = new File(parentDirectory, identifier + ".yml");
-                String path = file.getPath();
-
-                Representer representer = new Representer(new DumperOptions());
-                representer.addClassTag(generatorClass, Tag.MAP);
-                Yaml yaml = new Yaml(representer);
-                try (FileWriter writer = new FileWriter(file.getAbsolutePath())) {
-                    yaml.dump(element.generator(), writer);
-                } catch (Throwable throwable) {
-                    throw new RuntimeException("Found the following issue at '" + path + "'\n" + toStackTrace(throwable));
-                }
-
-                DataAssetEntry<? extends IdentityGeneration<T>> entry = parse.apply(file, element);
-                DataAssetEntry<? extends IdentityGeneration<T>> previous = assets.put(identifier, entry);
-                if (previous != null) {
-                    IdentityGeneration<T> previousGenerator = previous.asset();
-                    String previousPath = previous.file().getPath();
-                    IdentityGeneration<T> currentGenerator = entry.asset();
-                    String currentPath = entry.file().getPath();
-
-                    System.out.println(previousPath + " and " + previousGenerator.identifier() + " was replaced by " + currentPath + " (" + currentGenerator.identifier() + ")");
-                }
-                return true;
-            }
-
-            @Override
-            public @Nullable Logger logger() {
-                return logger;
-            }
-
-            @Override
-            public void reload() {
-                generations.clear();
-                readAll.run();
-                duplicates.forEach((key, list) -> ifLogger(logger -> {
-                    String duplicates = "{" + String.join(", ", list) + "}";
-                    logger.severe(generatorClass.getCanonicalName() + " has duplicates for'" + key + "' : " + duplicates);
-                }));
-                duplicates.clear();
-                assets.clear();
+                return catalog.fetch(identifier);
             }
-        };
+        }
+        return new Identities();
     }
 
     public <T extends DataAsset> IdentityManager<T> identityManager(
             @NotNull Class<? extends IdentityGenerator<T>> generatorClass,
             @NotNull File parentDirectory,
             @Nullable Logger logger,
-            boolean failOnNullField) {
+            boolean failOnNullField,
+            @NotNull ManagerOptions options) {
         IdentityManager<T> unloaded = unloadedIdentityManager(
                 generatorClass,
                 parentDirectory,
                 logger,
-                failOnNullField);
+                failOnNullField,
+                options);
         unloaded.reload();
         return unloaded;
     }
 
-    private String toStackTrace(@NotNull Throwable throwable) {
+    static String toStackTrace(@NotNull Throwable throwable) {
         StringWriter stringWriter = new StringWriter();
         PrintWriter printWriter = new PrintWriter(stringWriter);
         throwable.printStackTrace(printWriter);
@@ -0,0 +1,50 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An immutable view of a manager's entries as they were when it was published.
+ * Lookups never lock and never observe a reload or an add in progress.
+ *
+ * @param <T> the type of data asset
+ */
+public interface Snapshot<T extends DataAsset> {
+
+    @Nullable
+    DataAssetEntry<T> fetch(@NotNull String identifier);
+
+    @NotNull
+    Set<String> getIdentifiers();
+
+    default int size() {
+        return getIdentifiers().size();
+    }
+
+    /**
+     * Copies the current entries of a manager that doesn't publish snapshots itself.
+     *
+     * @param identifiers the identifiers to copy
+     * @param fetch       the lookup of the manager
+     * @param <T>         the type of data asset
+     * @return a snapshot of the copied entries
+     */
+    static <T extends DataAsset> Snapshot<T> copyOf(@NotNull Set<String> identifiers,
+                                                    @NotNull Function<String, DataAssetEntry<T>> fetch) {
+        Map<String, DataAssetEntry<T>> entries = new HashMap<>();
+        for (String identifier : Set.copyOf(identifiers)) {
+            DataAssetEntry<T> entry = fetch.apply(identifier);
+            if (entry != null)
+                entries.put(identifier, entry);
+        }
+        return new CatalogSnapshot<>(Map.copyOf(entries));
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+
+/**
+ * Reads what a manager stores in one YAML document.
+ *
+ * @param <S> the type that is read
+ */
+@FunctionalInterface
+interface SourceReader<S> {
+
+    /**
+     * @param path  the path the document was read from, used for messages
+     *              and by identity managers to name what they read
+     * @param input the document
+     * @return what was read
+     */
+    @NotNull
+    S read(@NotNull String path,
+           @NotNull InputStream input);
+
+}
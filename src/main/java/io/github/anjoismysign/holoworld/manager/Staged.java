@@ -0,0 +1,56 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A reload that was read but not published yet, as returned by {@link Manager#stage()}.
+ * Either {@link #run()} or {@link #abort()} it: until then, the manager keeps every entry added meanwhile,
+ * to apply it again on top of what was staged. A handle that's dropped without either is aborted once collected.
+ */
+public interface Staged extends Runnable, AutoCloseable {
+
+    /**
+     * Publishes what was read.
+     *
+     * @throws IllegalStateException if it was already published or aborted
+     */
+    @Override
+    void run();
+
+    /**
+     * Drops what was read without publishing it.
+     * Does nothing if it was already published or aborted.
+     */
+    void abort();
+
+    /**
+     * Aborts unless it was published, so a reload that failed before publishing can be left
+     * through try-with-resources.
+     */
+    @Override
+    default void close() {
+        abort();
+    }
+
+    /**
+     * @param publish what publishes the reload, for managers that don't read ahead of publishing
+     * @return a handle that runs {@code publish}, and which has nothing to drop when aborted
+     */
+    @NotNull
+    static Staged of(@NotNull Runnable publish) {
+        Objects.requireNonNull(publish, "'publish' cannot be null");
+        return new Staged() {
+            @Override
+            public void run() {
+                publish.run();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+}
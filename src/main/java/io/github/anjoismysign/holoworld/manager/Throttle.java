@@ -0,0 +1,53 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the reads of a reload to the rates of a {@link ReloadBudget}.
+ * Each read reserves its share of the budget and then waits until the reload is allowed to have read that much,
+ * so threads reading in parallel share the same budget.
+ */
+final class Throttle {
+
+    private final ReloadBudget budget;
+    private final long start = System.nanoTime();
+    private long files;
+    private long bytes;
+
+    Throttle(@NotNull ReloadBudget budget) {
+        this.budget = budget;
+    }
+
+    int parallelism() {
+        return budget.parallelism();
+    }
+
+    /**
+     * Waits until the budget allows reading one more file.
+     *
+     * @param length the size of the file
+     */
+    void acquire(long length) {
+        long due;
+        synchronized (this) {
+            files++;
+            bytes += Math.max(0, length);
+            due = start;
+            if (budget.filesPerSecond() > 0)
+                due = Math.max(due, start + (long) (files / budget.filesPerSecond() * TimeUnit.SECONDS.toNanos(1)));
+            if (budget.bytesPerSecond() > 0)
+                due = Math.max(due, start + (long) ((double) bytes / budget.bytesPerSecond() * TimeUnit.SECONDS.toNanos(1)));
+        }
+        for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
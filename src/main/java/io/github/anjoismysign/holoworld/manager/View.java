@@ -0,0 +1,203 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A collection derived from a manager's entries, which the manager keeps materialized:
+ * it's built once per reload and updated on every add, so reading it never recomputes it.
+ * Values are shared between threads, so they must not be modified once built or updated.
+ *
+ * @param <T> the type of data asset
+ * @param <V> the type of the derived value
+ */
+@FunctionalInterface
+public interface View<T extends DataAsset, V> {
+
+    /**
+     * Derives the value from every entry of a snapshot.
+     *
+     * @param snapshot the published snapshot
+     * @return the derived value
+     */
+    @NotNull
+    V build(@NotNull Snapshot<T> snapshot);
+
+    /**
+     * Derives the value after an add, from the value derived before it.
+     * By default, the value is built again from the current snapshot.
+     *
+     * @param current the value derived before the change
+     * @param change  what the add changed
+     * @return the derived value
+     */
+    @NotNull
+    default V update(@NotNull V current,
+                     @NotNull CatalogChange<T> change) {
+        return build(change.current());
+    }
+
+    /**
+     * Groups the assets by a key, each group in no particular order.
+     *
+     * @param classifier the key of an asset, which cannot be null
+     * @param <T>        the type of data asset
+     * @param <K>        the type of key
+     * @return the view
+     */
+    static <T extends DataAsset, K> View<T, Map<K, List<T>>> groupingBy(@NotNull Function<? super T, ? extends K> classifier) {
+        Objects.requireNonNull(classifier, "'classifier' cannot be null");
+        return new View<>() {
+            @Override
+            public @NotNull Map<K, List<T>> build(@NotNull Snapshot<T> snapshot) {
+                Map<K, List<T>> groups = new HashMap<>();
+                Map<String, K> keys = new HashMap<>();
+                for (T asset : assets(snapshot, snapshot.getIdentifiers())) {
+                    K key = key(asset);
+                    keys.put(asset.identifier(), key);
+                    groups.computeIfAbsent(key, ignored -> new ArrayList<>()).add(asset);
+                }
+                Map<K, List<T>> copy = new HashMap<>();
+                groups.forEach((key, group) -> copy.put(key, List.copyOf(group)));
+                return new Groups<>(Map.copyOf(copy), Map.copyOf(keys));
+            }
+
+            @Override
+            public @NotNull Map<K, List<T>> update(@NotNull Map<K, List<T>> current,
+                                                   @NotNull CatalogChange<T> change) {
+                if (!(current instanceof Groups<K, T> previous))
+                    return build(change.current());
+                Set<String> touched = touched(change);
+                List<T> updated = assets(change.current(), touched);
+                // the key an asset was grouped under is remembered, since a modified asset may be the same instance
+                Set<K> dirty = new HashSet<>();
+                for (String identifier : touched) {
+                    @Nullable K key = previous.keys().get(identifier);
+                    if (key != null)
+                        dirty.add(key);
+                }
+                Map<String, K> keys = previous.keys();
+                for (T asset : updated) {
+                    K key = key(asset);
+                    dirty.add(key);
+                    keys = LayeredMap.with(keys, asset.identifier(), key);
+                }
+                Map<K, List<T>> groups = new HashMap<>(previous);
+                for (K key : dirty) {
+                    List<T> group = new ArrayList<>(groups.getOrDefault(key, List.of()));
+                    group.removeIf(asset -> touched.contains(asset.identifier()));
+                    for (T asset : updated)
+                        if (key.equals(keys.get(asset.identifier())))
+                            group.add(asset);
+                    if (group.isEmpty())
+                        groups.remove(key);
+                    else
+                        groups.put(key, List.copyOf(group));
+                }
+                return new Groups<>(Map.copyOf(groups), keys);
+            }
+
+            private K key(@NotNull T asset) {
+                return Objects.requireNonNull(classifier.apply(asset), "classifier returned null for '" + asset.identifier() + "'");
+            }
+        };
+    }
+
+    /**
+     * Sorts the assets, such as for a leaderboard.
+     *
+     * @param comparator the order of the assets
+     * @param <T>        the type of data asset
+     * @return the view
+     */
+    static <T extends DataAsset> View<T, List<T>> sorted(@NotNull Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "'comparator' cannot be null");
+        return new View<>() {
+            @Override
+            public @NotNull List<T> build(@NotNull Snapshot<T> snapshot) {
+                List<T> sorted = assets(snapshot, snapshot.getIdentifiers());
+                sorted.sort(comparator);
+                return Collections.unmodifiableList(sorted);
+            }
+
+            @Override
+            public @NotNull List<T> update(@NotNull List<T> current,
+                                           @NotNull CatalogChange<T> change) {
+                Set<String> touched = touched(change);
+                List<T> sorted = new ArrayList<>(current);
+                sorted.removeIf(asset -> touched.contains(asset.identifier()));
+                for (T asset : assets(change.current(), touched)) {
+                    int index = Collections.binarySearch(sorted, asset, comparator);
+                    sorted.add(index < 0 ? -index - 1 : index, asset);
+                }
+                return Collections.unmodifiableList(sorted);
+            }
+        };
+    }
+
+    /**
+     * Keeps the assets that match a predicate.
+     *
+     * @param predicate whether an asset is kept
+     * @param <T>       the type of data asset
+     * @return the view, keyed by identifier
+     */
+    static <T extends DataAsset> View<T, Map<String, T>> filtering(@NotNull Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "'predicate' cannot be null");
+        return new View<>() {
+            @Override
+            public @NotNull Map<String, T> build(@NotNull Snapshot<T> snapshot) {
+                Map<String, T> kept = new HashMap<>();
+                for (T asset : assets(snapshot, snapshot.getIdentifiers()))
+                    if (predicate.test(asset))
+                        kept.put(asset.identifier(), asset);
+                return Map.copyOf(kept);
+            }
+
+            @Override
+            public @NotNull Map<String, T> update(@NotNull Map<String, T> current,
+                                                  @NotNull CatalogChange<T> change) {
+                Set<String> touched = touched(change);
+                Map<String, T> kept = new HashMap<>(current);
+                kept.keySet().removeAll(touched);
+                for (T asset : assets(change.current(), touched))
+                    if (predicate.test(asset))
+                        kept.put(asset.identifier(), asset);
+                return Map.copyOf(kept);
+            }
+        };
+    }
+
+    private static Set<String> touched(@NotNull CatalogChange<?> change) {
+        Set<String> touched = new HashSet<>(change.added());
+        touched.addAll(change.removed());
+        touched.addAll(change.modified());
+        return touched;
+    }
+
+    private static <T extends DataAsset> List<T> assets(@NotNull Snapshot<T> snapshot,
+                                                        @NotNull Set<String> identifiers) {
+        List<T> assets = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            @Nullable DataAssetEntry<T> entry = snapshot.fetch(identifier);
+            if (entry != null)
+                assets.add(entry.asset());
+        }
+        return assets;
+    }
+
+}
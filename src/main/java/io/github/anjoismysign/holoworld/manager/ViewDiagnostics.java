@@ -0,0 +1,27 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How much a materialized view costs to keep.
+ *
+ * @param name            the name the view was registered with
+ * @param buildNanos      how long the last full build took
+ * @param lastUpdateNanos how long the last update after an add took, or 0 if there wasn't one since the build
+ * @param updates         how many updates ran since the last full build
+ * @param estimatedBytes  an estimate of the memory held by the value itself, not counting the assets it refers to
+ */
+public record ViewDiagnostics(@NotNull String name,
+                              long buildNanos,
+                              long lastUpdateNanos,
+                              int updates,
+                              long estimatedBytes) {
+
+    @Override
+    public String toString() {
+        return name + ": built in " + buildNanos / 1_000_000.0 + "ms, "
+                + updates + " updates (last " + lastUpdateNanos / 1_000_000.0 + "ms), ~"
+                + estimatedBytes / 1024 + " KiB";
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AssetJournalTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void replaysTheLatestDocumentOfEachIdentifier() {
+        AssetJournal journal = new AssetJournal(directory, null);
+        journal.append("a", bytes("first a"));
+        journal.append("b", bytes("first b"));
+        journal.append("a", bytes("second a"));
+
+        Map<String, byte[]> replayed = new AssetJournal(directory, null).replay();
+
+        assertEquals(List.of("b", "a"), List.copyOf(replayed.keySet()));
+        assertEquals("second a", string(replayed.get("a")));
+        assertEquals("first b", string(replayed.get("b")));
+    }
+
+    @Test
+    void truncatesATornRecordAndKeepsTheOnesBefore() throws IOException {
+        AssetJournal journal = new AssetJournal(directory, null);
+        journal.append("a", bytes("intact"));
+        Path file = new File(directory, AssetJournal.NAME).toPath();
+        long intact = Files.size(file);
+        // a record whose header promises more bytes than a crash left behind
+        Files.write(file, new byte[]{0, 0, 0, 64, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        Map<String, byte[]> replayed = new AssetJournal(directory, null).replay();
+
+        assertEquals(Map.of("a", "intact"), Map.of("a", string(replayed.get("a"))));
+        assertEquals(intact, Files.size(file));
+    }
+
+    @Test
+    void replaysARotatedJournalBeforeTheCurrentOne() throws IOException {
+        AssetJournal journal = new AssetJournal(directory, null);
+        journal.append("a", bytes("rotated"));
+        journal.append("b", bytes("rotated"));
+        // a compaction that didn't finish leaves the rotated journal behind
+        Files.move(new File(directory, AssetJournal.NAME).toPath(), new File(directory, AssetJournal.COMPACTING).toPath());
+        AssetJournal reopened = new AssetJournal(directory, null);
+        reopened.append("a", bytes("current"));
+
+        Map<String, byte[]> replayed = new AssetJournal(directory, null).replay();
+
+        assertEquals("current", string(replayed.get("a")));
+        assertEquals("rotated", string(replayed.get("b")));
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
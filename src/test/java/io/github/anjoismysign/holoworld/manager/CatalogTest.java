@@ -0,0 +1,113 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void keepsAnAddMadeWhileAReloadWasStaging() throws IOException {
+        write("a", "first");
+        AssetManager<Item> manager = manager(ManagerOptions.DEFAULT);
+        manager.reload();
+
+        Staged staged = manager.stage();
+        manager.add(new Item("added", "while staging"));
+        staged.run();
+
+        assertName("while staging", manager, "added");
+        assertName("first", manager, "a");
+    }
+
+    @Test
+    @Timeout(30)
+    void keepsAnAddMadeDuringABackgroundReload() throws IOException {
+        for (int i = 0; i < 200; i++)
+            write("item_" + i, "item " + i);
+        AssetManager<Item> manager = manager(ManagerOptions.DEFAULT);
+        manager.reload();
+
+        var reloaded = manager.reloadInBackground();
+        manager.add(new Item("added", "during the reload"));
+        reloaded.join();
+
+        assertName("during the reload", manager, "added");
+        assertEquals(201, manager.size());
+    }
+
+    @Test
+    void publishesAStagedReloadOnlyOnce() throws IOException {
+        write("a", "first");
+        AssetManager<Item> manager = manager(ManagerOptions.DEFAULT);
+
+        Staged staged = manager.stage();
+        staged.run();
+
+        assertThrows(IllegalStateException.class, staged::run);
+        staged.abort();
+        assertName("first", manager, "a");
+    }
+
+    @Test
+    void abortingDropsWhatWasStaged() throws IOException {
+        AssetManager<Item> manager = manager(ManagerOptions.DEFAULT);
+        manager.reload();
+        write("a", "first");
+
+        try (Staged staged = manager.stage()) {
+            assertNull(manager.fetchAsset("a"));
+        }
+
+        assertNull(manager.fetchAsset("a"));
+        manager.reload();
+        assertName("first", manager, "a");
+    }
+
+    @Test
+    void reloadSeesAddsThatAreStillInTheJournal() throws IOException {
+        write("a", "from its file");
+        ManagerOptions options = ManagerOptions.DEFAULT.withJournal(true);
+        AssetManager<Item> manager = manager(options);
+        manager.reload();
+        manager.add(new Item("a", "journaled"));
+        manager.add(new Item("b", "journaled"));
+
+        AssetManager<Item> restarted = manager(options);
+        restarted.reload();
+
+        assertName("journaled", restarted, "a");
+        assertName("journaled", restarted, "b");
+    }
+
+    private AssetManager<Item> manager(ManagerOptions options) {
+        return SingletonManagerFactory.INSTANCE.unloadedAssetManager(Item.class, directory, null, false, options);
+    }
+
+    private void write(String identifier,
+                       String name) throws IOException {
+        Files.writeString(new File(directory, identifier + ".yml").toPath(), "identifier: " + identifier + "\nname: " + name + "\n");
+    }
+
+    private static void assertName(String expected,
+                                   AssetManager<Item> manager,
+                                   String identifier) {
+        DataAssetEntry<Item> entry = manager.fetchAsset(identifier);
+        assertNotNull(entry, identifier + " isn't published");
+        assertEquals(expected, entry.asset().getName());
+    }
+
+}
@@ -0,0 +1,109 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import io.github.anjoismysign.holoworld.asset.DataAssetEntry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the retained heap of the structures meant to shrink it, with JOL, and prints the comparison.
+ */
+class FootprintReportTest {
+
+    private static final int ASSETS = 10_000;
+    private static final int ADDS = 1_000;
+    private static final String[] RARITIES = {"COMMON", "RARE", "EPIC", "LEGENDARY"};
+
+    @Test
+    void canonicalizingSharesDuplicatedValues() {
+        List<Sword> swords = new ArrayList<>(ASSETS);
+        for (int i = 0; i < ASSETS; i++)
+            swords.add(sword(i));
+        long before = GraphLayout.parseInstance(swords).totalSize();
+
+        Canonicalizer canonicalizer = new Canonicalizer();
+        swords.forEach(canonicalizer::canonicalize);
+        long after = GraphLayout.parseInstance(swords).totalSize();
+
+        report("canonicalization", before, after, ASSETS, "asset");
+        assertTrue(after < before, "canonicalizing didn't shrink the assets");
+    }
+
+    @Test
+    void packedEntriesAndLayeredAdds() {
+        File directory = new File("items");
+        Map<String, DataAssetEntry<Tag>> entries = new HashMap<>();
+        for (int i = 0; i < ASSETS; i++) {
+            String identifier = "item_" + i;
+            entries.put(identifier, new FileEntry<>(new File(directory, identifier + ".yml"), new Tag(identifier), i));
+        }
+        long hashed = GraphLayout.parseInstance(entries).totalSize();
+        Map<String, DataAssetEntry<Tag>> packed = CompactEntries.of(entries);
+        long compact = GraphLayout.parseInstance(packed).totalSize();
+        report("packed entries", hashed, compact, ASSETS, "entry");
+        assertTrue(compact < hashed, "packing didn't shrink the entries");
+
+        Map<String, DataAssetEntry<Tag>> layered = packed;
+        for (int i = 0; i < ADDS; i++) {
+            String identifier = "added_" + i;
+            layered = LayeredMap.with(layered, identifier, new FileEntry<>(new File(directory, identifier + ".yml"), new Tag(identifier), i));
+        }
+        long added = GraphLayout.parseInstance(layered).totalSize() - compact;
+        // repacking on every add would allocate the whole table again each time
+        System.out.printf("layered adds: %,d B/add retained, against %,d B allocated by repacking %,d entries%n",
+                added / ADDS, compact, ASSETS);
+        assertTrue(added / ADDS < compact / 100, "an add retains more than 1% of the packed table");
+    }
+
+    private static Sword sword(int i) {
+        Sword sword = new Sword();
+        sword.identifier = copy("sword_" + i);
+        sword.rarity = copy(RARITIES[i % RARITIES.length]);
+        sword.material = copy("DIAMOND_SWORD");
+        sword.lore = new ArrayList<>(List.of(copy("A sharp blade"), copy("Forged in fire"), copy("Level " + i % 50)));
+        sword.level = Integer.valueOf(1_000 + i % 50);
+        sword.stat = new Stat(copy("damage"), i % 20);
+        return sword;
+    }
+
+    /**
+     * @return an equal string that isn't the interned one, as if it was read from a file
+     */
+    private static String copy(String string) {
+        return new String(string.toCharArray());
+    }
+
+    private static void report(String subject,
+                               long before,
+                               long after,
+                               int count,
+                               String unit) {
+        System.out.printf("%s: %,d -> %,d bytes (%,d -> %,d B/%s)%n",
+                subject, before, after, before / count, after / count, unit);
+    }
+
+    static final class Sword {
+        String identifier;
+        String rarity;
+        String material;
+        List<String> lore;
+        Integer level;
+        Stat stat;
+    }
+
+    record Stat(String name, int value) {
+    }
+
+    record Tag(@NotNull String identifier) implements DataAsset {
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import io.github.anjoismysign.holoworld.asset.DataAsset;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A bean asset the tests read and write through YAML.
+ */
+public class Item implements DataAsset {
+
+    private String identifier;
+    private String name;
+
+    public Item() {
+    }
+
+    Item(@NotNull String identifier,
+         @NotNull String name) {
+        this.identifier = identifier;
+        this.name = name;
+    }
+
+    @Override
+    public @NotNull String identifier() {
+        return identifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
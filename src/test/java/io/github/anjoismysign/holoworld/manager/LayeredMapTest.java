@@ -0,0 +1,68 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LayeredMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomPuts() {
+        Random random = new Random(42);
+        Map<Integer, Integer> base = new HashMap<>();
+        for (int i = 0; i < 1_000; i++)
+            base.put(i, -i);
+        Map<Integer, Integer> expected = new HashMap<>(base);
+        Map<Integer, Integer> layered = Map.copyOf(base);
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt(3_000);
+            layered = LayeredMap.with(layered, key, i);
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), layered.size());
+        assertEquals(expected, layered);
+        assertEquals(expected, new HashMap<>(layered));
+        for (int key = -10; key < 3_010; key++)
+            assertEquals(expected.containsKey(key), layered.containsKey(key));
+    }
+
+    @Test
+    void shadowsBaseEntriesWithoutChangingTheBase() {
+        Map<String, String> base = Map.of("a", "base", "b", "base");
+        LayeredMap<String, String> first = LayeredMap.with(base, "a", "top");
+        LayeredMap<String, String> second = LayeredMap.with(first, "c", "top");
+
+        assertEquals("top", second.get("a"));
+        assertEquals("base", second.get("b"));
+        assertEquals(3, second.size());
+        assertEquals(2, first.size());
+        assertEquals("base", base.get("a"));
+        assertSame(base, second.base());
+        // each shadowed key is iterated once, with the value on top
+        assertEquals(Map.of("a", "top", "b", "base", "c", "top"), Map.copyOf(second));
+        assertEquals(3, second.entrySet().stream().count());
+    }
+
+    @Test
+    void keepsKeysWhoseHashesCollide() {
+        // "Aa" and "BB" have the same hash code
+        Map<String, Integer> map = Map.of();
+        for (String key : List.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa"))
+            map = LayeredMap.with(map, key, key.length());
+        map = LayeredMap.with(map, "BB", 0);
+
+        assertEquals(6, map.size());
+        assertEquals(0, map.get("BB"));
+        assertEquals(2, map.get("Aa"));
+        assertEquals(4, map.get("BBAa"));
+        assertTrue(map.keySet().containsAll(List.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa")));
+    }
+
+}
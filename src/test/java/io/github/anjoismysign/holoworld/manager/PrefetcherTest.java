@@ -0,0 +1,61 @@
+package io.github.anjoismysign.holoworld.manager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrefetcherTest {
+
+    private static final List<Integer> INPUTS = IntStream.range(0, 200).boxed().toList();
+
+    @Test
+    @Timeout(10)
+    void deliversEveryResultAndSkipsNulls() {
+        try (Prefetcher<Integer, Integer> prefetcher = new Prefetcher<>(INPUTS.iterator(),
+                input -> input % 10 == 0 ? null : input, 2, 4, "test-prefetch")) {
+            List<Integer> results = new ArrayList<>();
+            prefetcher.forEachRemaining(results::add);
+            Set<Integer> expected = INPUTS.stream().filter(input -> input % 10 != 0).collect(Collectors.toSet());
+            assertEquals(expected, new HashSet<>(results));
+            assertEquals(expected.size(), results.size());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void deliversAFailureThroughAFullQueue() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            try (Prefetcher<Integer, Integer> prefetcher = new Prefetcher<>(INPUTS.iterator(), input -> {
+                if (input == 20)
+                    throw new IllegalStateException("broken input");
+                return input;
+            }, 1, 3, "test-prefetch")) {
+                // the consumer is slow, so the queue is full when the failure is delivered
+                Thread.sleep(5);
+                assertThrows(IllegalStateException.class, () -> {
+                    while (prefetcher.hasNext())
+                        prefetcher.next();
+                });
+            }
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void closingWhileWorkersWaitDoesNotHang() throws InterruptedException {
+        Prefetcher<Integer, Integer> prefetcher = new Prefetcher<>(INPUTS.iterator(), input -> input, 1, 4, "test-prefetch");
+        prefetcher.next();
+        Thread.sleep(5);
+        prefetcher.close();
+    }
+
+}